@@ -0,0 +1,29 @@
+package com.ardkyer.rion.config;
+
+import com.ardkyer.rion.service.LocalBlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// storage.type=local 일 때 아바타 등 공개 URL 로 내려준 객체를 직접 제공
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalStorageConfig implements WebMvcConfigurer {
+
+    private final LocalBlobStore localBlobStore;
+
+    @Value("${storage.local.public-base-url:/blobs}")
+    private String publicBaseUrl;
+
+    public LocalStorageConfig(LocalBlobStore localBlobStore) {
+        this.localBlobStore = localBlobStore;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(publicBaseUrl + "/**")
+                .addResourceLocations(localBlobStore.getDataDirectory().toUri().toString());
+    }
+}
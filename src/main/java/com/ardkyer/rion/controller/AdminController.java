@@ -0,0 +1,70 @@
+package com.ardkyer.rion.controller;
+
+import com.ardkyer.rion.service.DuplicateImageIndex;
+import com.ardkyer.rion.service.ProductCache;
+import com.ardkyer.rion.service.ProductExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Admin", description = "Back office API")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final ProductExportService productExportService;
+    private final ProductCache productCache;
+    private final DuplicateImageIndex duplicateImageIndex;
+
+    @GetMapping("/products/export")
+    @Operation(summary = "Export all products", description = "Streams every product as JSON Lines or CSV")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "jsonl or csv")
+            @RequestParam(value = "format", defaultValue = "jsonl") String format) {
+        ProductExportService.Format exportFormat;
+        try {
+            exportFormat = ProductExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> productExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/cache/products")
+    @Operation(summary = "Product cache metrics", description = "Hit/miss/eviction counters of the product detail cache")
+    public ResponseEntity<Map<String, Object>> getProductCacheMetrics() {
+        return ResponseEntity.ok(productCache.getMetrics());
+    }
+
+    @GetMapping("/products/duplicates")
+    @Operation(summary = "Duplicate product clusters", description = "Groups products whose images are perceptually near-identical")
+    public ResponseEntity<?> getDuplicateProducts(
+            @Parameter(description = "Maximum Hamming distance between image hashes (0-64)")
+            @RequestParam(value = "maxDistance", required = false) Integer maxDistance) {
+        int distance = maxDistance != null ? maxDistance : duplicateImageIndex.getDefaultMaxDistance();
+        if (distance < 0 || distance > 64) {
+            return ResponseEntity.badRequest().body(Map.of("message", "maxDistance must be between 0 and 64"));
+        }
+        List<List<Long>> clusters = duplicateImageIndex.findClusters(distance);
+        return ResponseEntity.ok(Map.of("maxDistance", distance, "clusters", clusters));
+    }
+}
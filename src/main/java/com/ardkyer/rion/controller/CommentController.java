@@ -70,7 +70,7 @@ public class CommentController {
             }
 
             User user = userService.findByUsername(authentication.getName());
-            Video video = videoService.getVideoById(request.getVideoId())
+            Video video = videoService.getVideoReference(request.getVideoId())
                     .orElseThrow(() -> new IllegalArgumentException("Video not found"));
 
             Comment comment = new Comment();
@@ -112,7 +112,7 @@ public class CommentController {
             @PathVariable Long videoId,
             Pageable pageable) {
         try {
-            Video video = videoService.getVideoById(videoId)
+            Video video = videoService.getVideoReference(videoId)
                     .orElseThrow(() -> new IllegalArgumentException("Video not found"));
 
             Page<Comment> comments = commentService.getCommentsByVideo(video, pageable);
@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -28,6 +29,12 @@ public class ItemUnitController {
         private String status;
     }
 
+    @Getter @Setter
+    public static class BulkStatusUpdateRequest {
+        private String status;
+        private List<Long> unitIds;  // 비어 있으면 상품의 모든 유닛
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateUnitStatus(
             @PathVariable Long id,
@@ -53,4 +60,34 @@ public class ItemUnitController {
             ));
         }
     }
-}
\ No newline at end of file
+
+    @PutMapping("/products/{productId}/status")
+    public ResponseEntity<?> updateUnitsStatus(
+            @PathVariable Long productId,
+            @RequestBody BulkStatusUpdateRequest request,
+            Authentication authentication) {
+        ItemStatus newStatus;
+        try {
+            newStatus = ItemStatus.valueOf(request.getStatus());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "잘못된 상태값입니다."
+            ));
+        }
+
+        try {
+            int updated = itemUnitService.updateUnitsStatus(productId, request.getUnitIds(), newStatus, authentication);
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "상태가 변경되었습니다.",
+                    "updatedCount", updated
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+}
@@ -1,28 +1,35 @@
 package com.ardkyer.rion.controller;
 
-import com.amazonaws.services.s3.model.S3Object;
+import com.ardkyer.rion.dto.ProductSnapshot;
+import com.ardkyer.rion.dto.VideoCardDto;
+import com.ardkyer.rion.dto.response.CursorPage;
 import com.ardkyer.rion.entity.Comment;
 import com.ardkyer.rion.entity.Video;
 import com.ardkyer.rion.entity.User;
 import com.ardkyer.rion.entity.Reservation;
 import com.ardkyer.rion.entity.Hashtag;
 import com.ardkyer.rion.service.*;
+import com.ardkyer.rion.service.ImageStagingService.StagedImage;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.Getter;
 import lombok.Setter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.stream.Collectors;
 
 @RestController
@@ -31,16 +38,44 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final int MAX_AVAILABILITY_IDS = 100;
+
     private final VideoService videoService;
     private final UserService userService;
     private final ReservationService reservationService;
     private final CommentService commentService;
-    private final FollowService followService;
+    private final ViewerContext viewerContext;
+    private final ImageStagingService imageStagingService;
+    private final ImagePresignService imagePresignService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final DuplicateImageIndex duplicateImageIndex;
 
     // Request/Response DTOs
     @Getter @Setter
     public static class ReservationRequest {
         private Integer quantity;
+        private LocalDateTime rentalStartDate;  // 지정하면 기간이 겹치는 예약과 수량을 비교
+        private LocalDateTime rentalEndDate;
+    }
+
+    @Getter @Setter
+    public static class UploadUrlRequest {
+        private String fileName;
+        private String contentType;
+    }
+
+    @Getter @Setter
+    public static class ConfirmUploadRequest {
+        private String title;
+        private String description;
+        private Integer totalQuantity;
+        private String hashtags;
+        private String imageKey;
+    }
+
+    @Getter @Setter
+    public static class ImageKeyRequest {
+        private String imageKey;
     }
 
     @Getter @Setter
@@ -55,6 +90,10 @@ public class ProductController {
         private boolean isFollowedByCurrentUser;
         private List<String> hashtags;
         private String imageUrl;
+        private String imageStatus;
+        private String imagePlaceholder;  // 이미지 도착 전 그릴 BlurHash
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private List<Long> similarProductIds;  // 생성 응답에만 포함: 이미지가 거의 같은 기존 상품
 
         @Getter @Setter
         public static class UserInfo {
@@ -64,23 +103,68 @@ public class ProductController {
     }
 
     @GetMapping
-    @Operation(summary = "List all products", description = "Retrieves a list of all available products")
-    public ResponseEntity<List<ProductResponse>> getProducts(Authentication authentication) {
-        List<Video> videos = videoService.getAllVideos();
-        List<ProductResponse> response = videos.stream()
-                .map(video -> convertToProductResponse(video, authentication))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    @Operation(summary = "List products", description = "Retrieves products newest first, one cursor page at a time")
+    public ResponseEntity<CursorPage<ProductResponse>> getProducts(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size (max 50)")
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            CursorPage<VideoCardDto> page = videoService.getVideoPage(cursor, size);
+            viewerContext.preloadFollowStates(page.getContent().stream()
+                    .map(card -> card.getUser().getId())
+                    .collect(Collectors.toSet()));
+            return ResponseEntity.ok(page.map(this::convertToProductResponse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "List products of a user", description = "Retrieves a user's products newest first, one cursor page at a time")
+    public ResponseEntity<CursorPage<ProductResponse>> getProductsByUser(
+            @Parameter(description = "ID of the owner") @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        Optional<User> owner = userService.getUserById(userId);
+        if (owner.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            CursorPage<VideoCardDto> page = videoService.getVideoPageByUser(owner.get(), cursor, size);
+            viewerContext.preloadFollowStates(page.getContent().stream()
+                    .map(card -> card.getUser().getId())
+                    .collect(Collectors.toSet()));
+            return ResponseEntity.ok(page.map(this::convertToProductResponse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product details", description = "Retrieves details of a specific product")
     public ResponseEntity<ProductResponse> getProduct(
             @Parameter(description = "ID of the product") @PathVariable Long id,
-            Authentication authentication) {
-        return videoService.getVideoById(id)
-                .map(video -> ResponseEntity.ok(convertToProductResponse(video, authentication)))
-                .orElse(ResponseEntity.notFound().build());
+            WebRequest webRequest) {
+        Optional<ProductSnapshot> snapshot = videoService.getProductSnapshot(id);
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 캐시된 스냅샷의 updated_at 과 팔로우 여부만으로 304 여부 판단
+        LocalDateTime updatedAt = snapshot.get().getUpdatedAt();
+        if (updatedAt != null) {
+            boolean followed = viewerContext.isFollowing(snapshot.get().getOwnerId());
+            long lastModified = updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            String etag = "\"" + id + "-" + lastModified + "-" + (followed ? "f" : "n") + "\"";
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return null;
+            }
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(convertToProductResponse(snapshot.get()));
     }
 
     @PostMapping
@@ -107,9 +191,147 @@ public class ProductController {
         video.setReservationStatus(Video.ReservationStatus.AVAILABLE);
 
         Set<String> hashtagSet = extractHashtags(description, hashtags);
-        video = videoService.uploadVideo(video, file, hashtagSet);
+        // 파일은 트랜잭션 밖에서 임시 저장하고, S3 업로드는 커밋 후 비동기로 진행
+        StagedImage stagedImage = imageStagingService.stage(file);
+        try {
+            video = videoService.uploadVideo(video, stagedImage, hashtagSet);
+        } catch (RuntimeException e) {
+            imageStagingService.discard(stagedImage.getPath());
+            throw e;
+        }
+        // 업로드 때 계산한 지문으로 기존 유사 상품을 찾은 뒤 인덱스에 등록
+        List<Long> similarProductIds = List.of();
+        Long hash = video.getPerceptualHash();
+        if (hash != null) {
+            Long videoId = video.getId();
+            similarProductIds = duplicateImageIndex.findSimilar(hash, duplicateImageIndex.getDefaultMaxDistance()).stream()
+                    .filter(similarId -> !similarId.equals(videoId))
+                    .toList();
+            duplicateImageIndex.add(videoId, hash);
+        }
+
+        ProductResponse response = convertToProductResponse(video);
+        response.setSimilarProductIds(similarProductIds);
+        return ResponseEntity.ok(response);
+    }
 
-        return ResponseEntity.ok(convertToProductResponse(video, authentication));
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "List similar products", description = "Lists products whose image is nearly identical to this product's image (empty until the image has been processed)")
+    public ResponseEntity<?> getSimilarProducts(@PathVariable Long id) {
+        Optional<Video> video = videoService.getVideoById(id);
+        if (video.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Long hash = video.get().getPerceptualHash();
+        List<Long> similarProductIds = hash == null ? List.of()
+                : duplicateImageIndex.findSimilar(hash, duplicateImageIndex.getDefaultMaxDistance()).stream()
+                        .filter(similarId -> !similarId.equals(id))
+                        .toList();
+        return ResponseEntity.ok(Map.of("similarProductIds", similarProductIds));
+    }
+
+    @PostMapping("/uploads")
+    @Operation(summary = "Request an image upload URL", description = "Issues a short-lived pre-signed PUT URL for uploading a product image directly to storage")
+    public ResponseEntity<?> createUploadUrl(@RequestBody UploadUrlRequest request, Authentication authentication) {
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "fileName is required"));
+        }
+        try {
+            User currentUser = userService.findByUsername(authentication.getName());
+            ImagePresignService.PresignedUpload upload = imagePresignService.presignUpload(
+                    currentUser, request.getFileName(), request.getContentType());
+            return ResponseEntity.ok(Map.of(
+                    "imageKey", upload.getKey(),
+                    "uploadUrl", upload.getUploadUrl(),
+                    "headers", upload.getHeaders(),
+                    "expiresAt", upload.getExpiresAt().toString()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/uploads/{fileName:.+}")
+    @Operation(summary = "Stream an image upload", description = "Streams the raw request body (not multipart) to storage and returns the image key to confirm")
+    public ResponseEntity<?> streamUpload(
+            @Parameter(description = "Original name of the image file") @PathVariable String fileName,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        try {
+            User currentUser = userService.findByUsername(authentication.getName());
+            // 멀티파트가 아니므로 Tomcat 이 본문을 미리 버퍼링하지 않고 그대로 S3 로 전달됨
+            String imageKey = imagePresignService.streamUpload(
+                    currentUser, fileName, request.getContentType(), request.getInputStream());
+            return ResponseEntity.ok(Map.of("imageKey", imageKey));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/uploads/confirm")
+    @Operation(summary = "Create a product from an uploaded image", description = "Creates a product using an image already uploaded through a pre-signed URL")
+    public ResponseEntity<?> confirmUpload(@RequestBody ConfirmUploadRequest request,
+                                           Authentication authentication) throws IOException {
+        if (request.getTitle() == null || request.getTotalQuantity() == null || request.getImageKey() == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "title, totalQuantity and imageKey are required"));
+        }
+        String description = request.getDescription() != null ? request.getDescription() : "";
+        String imageKey = null;
+        try {
+            User currentUser = userService.findByUsername(authentication.getName());
+            imageKey = imagePresignService.promoteUpload(currentUser, request.getImageKey());
+
+            Video video = new Video();
+            video.setTitle(request.getTitle());
+            video.setDescription(description);
+            video.setUser(currentUser);
+            video.setTotalQuantity(request.getTotalQuantity());
+            video.setAvailableQuantity(request.getTotalQuantity());
+            video.setReservationStatus(Video.ReservationStatus.AVAILABLE);
+
+            Set<String> hashtagSet = extractHashtags(description, request.getHashtags());
+            video = videoService.registerUploadedVideo(video, imageKey, hashtagSet);
+            imageDerivativeService.generateAsync(video.getImageUrl());
+
+            return ResponseEntity.ok(convertToProductResponse(video));
+        } catch (IllegalArgumentException e) {
+            if (imageKey != null) {
+                imagePresignService.discard(imageKey);
+            }
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}/image")
+    @Operation(summary = "Replace a product image", description = "Replaces the image of a product with one uploaded through a pre-signed URL")
+    public ResponseEntity<?> confirmImageReplacement(
+            @PathVariable Long id,
+            @RequestBody ImageKeyRequest request,
+            Authentication authentication) throws IOException {
+        Optional<Video> videoOptional = videoService.getVideoById(id);
+        if (videoOptional.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Video video = videoOptional.get();
+        User currentUser = userService.findByUsername(authentication.getName());
+        if (!video.getUser().getId().equals(currentUser.getId())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        String imageKey = null;
+        try {
+            imageKey = imagePresignService.promoteUpload(currentUser, request.getImageKey());
+            video = videoService.replaceUploadedImage(video, imageKey);
+            duplicateImageIndex.remove(video.getId());  // 리사이즈 이미지 생성 시 새 지문으로 다시 등록
+            imageDerivativeService.generateAsync(video.getImageUrl());
+            return ResponseEntity.ok(convertToProductResponse(video));
+        } catch (IllegalArgumentException e) {
+            if (imageKey != null) {
+                imagePresignService.discard(imageKey);
+            }
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}")
@@ -134,20 +356,37 @@ public class ProductController {
             return ResponseEntity.status(403).build();
         }
 
-        video.setTitle(title);
-        video.setDescription(description);
-        video.setTotalQuantity(totalQuantity);
+        // 파일 형식을 먼저 확인해 잘못된 요청이면 아무것도 바꾸지 않음
+        boolean hasImage = file != null && !file.isEmpty();
+        if (hasImage && (file.getContentType() == null || !file.getContentType().startsWith("image/"))) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        if (file != null && !file.isEmpty()) {
-            if (!file.getContentType().startsWith("image/")) {
-                return ResponseEntity.badRequest().build();
+        StagedImage stagedImage = hasImage ? imageStagingService.stage(file) : null;
+        try {
+            video = videoService.updateProduct(id, title, description, totalQuantity, stagedImage);
+        } catch (IllegalArgumentException e) {
+            if (stagedImage != null) {
+                imageStagingService.discard(stagedImage.getPath());
+            }
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (RuntimeException e) {
+            if (stagedImage != null) {
+                imageStagingService.discard(stagedImage.getPath());
             }
-            video = videoService.updateVideoWithImage(video, file);
-        } else {
-            video = videoService.updateVideo(video);
+            throw e;
         }
 
-        return ResponseEntity.ok(convertToProductResponse(video, authentication));
+        // 새 이미지의 지문은 업로드 때 계산해 바로 등록 (디코딩하지 못한 형식이면 인덱스에서 제외)
+        if (hasImage) {
+            if (video.getPerceptualHash() != null) {
+                duplicateImageIndex.add(video.getId(), video.getPerceptualHash());
+            } else {
+                duplicateImageIndex.remove(video.getId());
+            }
+        }
+
+        return ResponseEntity.ok(convertToProductResponse(video));
     }
 
     @DeleteMapping("/{id}")
@@ -163,6 +402,7 @@ public class ProductController {
             }
 
             videoService.deleteVideo(id);
+            duplicateImageIndex.remove(id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -177,10 +417,11 @@ public class ProductController {
             Authentication authentication) {
         try {
             User currentUser = userService.findByUsername(authentication.getName());
-            Video video = videoService.getVideoById(id)
+            // 잘못된 요청은 캐시된 스냅샷으로 먼저 거르고, 통과한 경우에만 엔티티를 읽음
+            ProductSnapshot snapshot = videoService.getProductSnapshot(id)
                     .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
-            if (video.getUser().getId().equals(currentUser.getId())) {
+            if (snapshot.getOwnerId().equals(currentUser.getId())) {
                 return ResponseEntity.badRequest()
                         .body(Map.of("message", "Cannot reserve your own product"));
             }
@@ -190,16 +431,32 @@ public class ProductController {
                         .body(Map.of("message", "Invalid quantity"));
             }
 
-            if (request.getQuantity() > video.getAvailableQuantity()) {
+            // 스냅샷은 조금 늦을 수 있으므로 빠른 거절용이고, 최종 재고 확인은 reserve 가 담당
+            // 기간 예약은 현재 재고가 아니라 기간별 수량으로 판단하므로 기간 없는 예약에만 적용
+            boolean dated = request.getRentalStartDate() != null || request.getRentalEndDate() != null;
+            if (!dated && request.getQuantity() > snapshot.getAvailableQuantity()) {
                 return ResponseEntity.badRequest()
                         .body(Map.of("message", "Insufficient stock"));
             }
 
-            Reservation reservation = reservationService.reserve(video, currentUser, request.getQuantity());
+            Video video = videoService.getVideoReference(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+            Reservation reservation;
+            try {
+                reservation = reservationService.reserve(video, currentUser, request.getQuantity(),
+                        request.getRentalStartDate(), request.getRentalEndDate());
+            } catch (IllegalStateException e) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("message", "Insufficient stock"));
+            }
 
+            // 예약 시 캐시가 비워졌으므로 커밋된 재고로 다시 읽음
+            int remainingQuantity = videoService.getProductSnapshot(id)
+                    .map(ProductSnapshot::getAvailableQuantity)
+                    .orElse(0);
             return ResponseEntity.ok(Map.of(
                     "reservationId", reservation.getId(),
-                    "remainingQuantity", video.getAvailableQuantity()
+                    "remainingQuantity", remainingQuantity
             ));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -207,23 +464,41 @@ public class ProductController {
         }
     }
 
-    @GetMapping("/images/{fileName:.+}")
-    @Operation(summary = "Get product image", description = "Retrieves a product image")
-    public ResponseEntity<InputStreamResource> getProductImage(
-            @Parameter(description = "Name of the image file")
-            @PathVariable String fileName) {
-        S3Object s3Object = videoService.getVideoFile(fileName);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.IMAGE_JPEG);
-        headers.setContentLength(s3Object.getObjectMetadata().getContentLength());
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Product availability for a period", description = "Returns how many units are free for the whole rental period [start, end)")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long id,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        try {
+            Map<Long, Integer> available = reservationService.getAvailableQuantities(List.of(id), start, end);
+            if (!available.containsKey(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(Map.of("productId", id, "availableQuantity", available.get(id)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
 
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(new InputStreamResource(s3Object.getObjectContent()));
+    @GetMapping("/availability")
+    @Operation(summary = "Availability for a page of products", description = "Returns free units per product for the rental period [start, end)")
+    public ResponseEntity<?> getAvailabilities(
+            @Parameter(description = "Product ids of the catalog page")
+            @RequestParam("ids") List<Long> ids,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if (ids.size() > MAX_AVAILABILITY_IDS) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Too many product ids"));
+        }
+        try {
+            return ResponseEntity.ok(reservationService.getAvailableQuantities(ids, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
-    private ProductResponse convertToProductResponse(Video video, Authentication authentication) {
+    private ProductResponse convertToProductResponse(Video video) {
         ProductResponse response = new ProductResponse();
         response.setId(video.getId());
         response.setTitle(video.getTitle());
@@ -240,17 +515,61 @@ public class ProductController {
 
         // Use the correct method name for getting image file name
         response.setImageUrl("/api/products/images/" + video.getImageUrl());
+        response.setImageStatus(video.getImageStatus() != null
+                ? video.getImageStatus().name()
+                : Video.ImageStatus.READY.name());
+        response.setImagePlaceholder(video.getImagePlaceholder());
 
         ProductResponse.UserInfo userInfo = new ProductResponse.UserInfo();
         userInfo.setId(video.getUser().getId());
         userInfo.setUsername(video.getUser().getUsername());
         response.setUser(userInfo);
 
-        if (authentication != null) {
-            User currentUser = userService.findByUsername(authentication.getName());
-            response.setFollowedByCurrentUser(followService.isFollowing(currentUser, video.getUser()));
-        }
+        response.setFollowedByCurrentUser(viewerContext.isFollowing(video.getUser().getId()));
+
+        return response;
+    }
+
+    private ProductResponse convertToProductResponse(VideoCardDto card) {
+        ProductResponse response = new ProductResponse();
+        response.setId(card.getId());
+        response.setTitle(card.getTitle());
+        response.setDescription(card.getDescription());
+        response.setTotalQuantity(card.getTotalQuantity());
+        response.setAvailableQuantity(card.getAvailableQuantity());
+        response.setStatus(card.getReservationStatus().name());
+        response.setHashtags(card.getHashtags());
+        response.setImageUrl("/api/products/images/" + card.getImageUrl() + "?size=card");
+        response.setImagePlaceholder(card.getImagePlaceholder());
+
+        ProductResponse.UserInfo userInfo = new ProductResponse.UserInfo();
+        userInfo.setId(card.getUser().getId());
+        userInfo.setUsername(card.getUser().getUsername());
+        response.setUser(userInfo);
+
+        response.setFollowedByCurrentUser(viewerContext.isFollowing(card.getUser().getId()));
+        return response;
+    }
+
+    private ProductResponse convertToProductResponse(ProductSnapshot snapshot) {
+        ProductResponse response = new ProductResponse();
+        response.setId(snapshot.getId());
+        response.setTitle(snapshot.getTitle());
+        response.setDescription(snapshot.getDescription());
+        response.setTotalQuantity(snapshot.getTotalQuantity());
+        response.setAvailableQuantity(snapshot.getAvailableQuantity());
+        response.setStatus(snapshot.getReservationStatus().name());
+        response.setHashtags(snapshot.getHashtags());
+        response.setImageUrl("/api/products/images/" + snapshot.getImageUrl());
+        response.setImageStatus(snapshot.getImageStatus().name());
+        response.setImagePlaceholder(snapshot.getImagePlaceholder());
+
+        ProductResponse.UserInfo userInfo = new ProductResponse.UserInfo();
+        userInfo.setId(snapshot.getOwnerId());
+        userInfo.setUsername(snapshot.getOwnerUsername());
+        response.setUser(userInfo);
 
+        response.setFollowedByCurrentUser(viewerContext.isFollowing(snapshot.getOwnerId()));
         return response;
     }
 
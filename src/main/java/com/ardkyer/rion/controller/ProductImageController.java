@@ -0,0 +1,328 @@
+package com.ardkyer.rion.controller;
+
+import com.ardkyer.rion.service.BlobStore;
+import com.ardkyer.rion.service.ImageDiskCache.CachedImage;
+import com.ardkyer.rion.service.ImagePresignService;
+import com.ardkyer.rion.service.ImageSize;
+import com.ardkyer.rion.service.ImageStagingService;
+import com.ardkyer.rion.service.ProductImageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// 상품 이미지 전송. 디스크 캐시 적중은 Tomcat sendfile(zero-copy), 그 외에는 MVC 비동기 실행기에서 본문을 기록해
+// 어느 쪽이든 느린 클라이언트가 Tomcat 요청 스레드를 잡지 않게 함
+@RestController
+@RequestMapping("/api/products")
+@Tag(name = "Products", description = "Product management API")
+@RequiredArgsConstructor
+public class ProductImageController {
+
+    private final ProductImageService productImageService;
+    private final ImageStagingService imageStagingService;
+    private final ImagePresignService imagePresignService;
+    private final Executor imageServeExecutor;
+
+    // proxy: 서버가 이미지 바이트를 직접 전송, presigned: S3 pre-signed GET URL 로 리다이렉트
+    @Value("${image.delivery.mode:proxy}")
+    private String imageDeliveryMode;
+
+    @Value("${image.presign.expiry-seconds:300}")
+    private long presignExpirySeconds;
+
+    // 이미지 조회를 Spring MVC 비동기 요청으로 처리 (저장소 다운로드가 Tomcat 요청 스레드를 점유하지 않도록)
+    @Value("${image.serve.async:true}")
+    private boolean imageAsyncEnabled;
+
+    @Value("${image.serve.async-timeout-ms:30000}")
+    private long imageAsyncTimeoutMs;
+
+    @GetMapping("/images/{fileName:.+}")
+    @Operation(summary = "Get product image", description = "Retrieves a product image")
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> getProductImage(
+            @Parameter(description = "Name of the image file")
+            @PathVariable String fileName,
+            @Parameter(description = "thumbnail, card or detail (original when omitted)")
+            @RequestParam(value = "size", required = false) String size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpMethod method,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        Optional<ImageSize> imageSize = ImageSize.from(size);
+        ImageRequest imageRequest = new ImageRequest(fileName, imageSize, ifNoneMatch, range, ifRange,
+                HttpMethod.HEAD.equals(method));
+
+        // 디스크 캐시 적중은 요청 스레드에서 바로 sendfile 로 넘기고 비동기 처리 없이 종료 (null 이면 응답 완료로 처리됨)
+        if (!isPresignedDelivery() && productImageService.isSendfileSupported(request)) {
+            Optional<CachedImage> cached = productImageService.findCached(fileName, imageSize);
+            if (cached.isPresent()) {
+                sendCachedImage(cached.get(), imageRequest, request, response);
+                return null;
+            }
+        }
+
+        DeferredResult<ResponseEntity<StreamingResponseBody>> result = new DeferredResult<>(imageAsyncTimeoutMs);
+        result.onTimeout(() -> result.setResult(serviceUnavailable()));
+
+        if (!imageAsyncEnabled) {
+            resolveImage(imageRequest, result);
+            return result;
+        }
+
+        // 요청 스레드는 바로 반환하고 캐시 미스 시 저장소 다운로드는 전용 풀에서 처리
+        try {
+            imageServeExecutor.execute(() -> resolveImage(imageRequest, result));
+        } catch (RejectedExecutionException e) {
+            result.setResult(serviceUnavailable());
+        }
+        return result;
+    }
+
+    private void resolveImage(ImageRequest imageRequest, DeferredResult<ResponseEntity<StreamingResponseBody>> result) {
+        try {
+            // 아직 S3 업로드 전(임시 저장 중)인 이미지는 리다이렉트할 수 없으므로 직접 전송
+            if (isPresignedDelivery() && imageStagingService.find(imageRequest.fileName).isEmpty()) {
+                result.setResult(redirectToPresignedImage(imageRequest.fileName, imageRequest.imageSize));
+                return;
+            }
+            ResponseEntity<StreamingResponseBody> response = loadImage(imageRequest);
+            if (!result.setResult(response) && response.getBody() instanceof ImageBody body) {
+                body.close();  // 이미 타임아웃으로 응답한 요청
+            }
+        } catch (BlobStore.BlobNotFoundException e) {
+            result.setResult(ResponseEntity.notFound().build());
+        } catch (IOException | RuntimeException e) {
+            result.setErrorResult(e);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> loadImage(ImageRequest imageRequest) throws IOException {
+        String fileName = imageRequest.fileName;
+        CachedImage image = null;
+        if (imageRequest.imageSize.isPresent()) {
+            image = productImageService.getVariant(fileName, imageRequest.imageSize.get()).orElse(null);
+        }
+        // 리사이즈 이미지가 아직 없으면 원본으로 대체하되 같은 URL 이 원본으로 오래 캐시되지 않게 함
+        boolean fallback = imageRequest.imageSize.isPresent() && image == null;
+        if (image == null) {
+            image = productImageService.getImage(fileName);
+        }
+        try {
+            ResponseEntity<StreamingResponseBody> response = buildImageResponse(image, fallback, imageRequest);
+            if (response.getBody() instanceof ImageBody body) {
+                body.open();
+            }
+            return response;
+        } finally {
+            // 본문은 이미 연 파일에서 읽으므로 고정은 바로 해제
+            productImageService.release(image);
+        }
+    }
+
+    // 상태와 헤더는 스트리밍 응답과 같게 만들고 본문만 sendfile 로 전송. 고정은 sendfile 쪽에서 늦게 해제
+    private void sendCachedImage(CachedImage image, ImageRequest imageRequest,
+                                 HttpServletRequest request, HttpServletResponse response) {
+        boolean sending = false;
+        try {
+            ResponseEntity<StreamingResponseBody> entity = buildImageResponse(image, false, imageRequest);
+            response.setStatus(entity.getStatusCode().value());
+            entity.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            if (entity.getBody() instanceof ImageBody body) {
+                productImageService.sendFile(image, body.start, body.count, request);
+                sending = true;
+            }
+        } finally {
+            if (!sending) {
+                productImageService.release(image);
+            }
+        }
+    }
+
+    private boolean isPresignedDelivery() {
+        return "presigned".equals(imageDeliveryMode) && imagePresignService.isSupported();
+    }
+
+    // StreamingResponseBody 는 ResourceHttpMessageConverter 의 304/206 처리를 거치지 않으므로 조건부 요청과 Range 를 직접 처리
+    // Range 는 단일 구간만 지원하고 여러 구간이면 전체를 200 으로 응답
+    private ResponseEntity<StreamingResponseBody> buildImageResponse(CachedImage image, boolean fallback,
+                                                                     ImageRequest imageRequest) {
+        long length = image.getContentLength();
+        // 이미지 키(UUID_파일명)는 내용이 바뀌지 않으므로 immutable 로 장기 캐시
+        String etag = "\"" + (image.getETag() != null
+                ? image.getETag()
+                : Integer.toHexString(image.getKey().hashCode()) + "-" + Long.toHexString(length)) + "\"";
+        CacheControl cacheControl = fallback
+                ? CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+        if (matchesEtag(imageRequest.ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(etag)
+                    .build();
+        }
+
+        long start = 0;
+        long count = length;
+        boolean partial = false;
+        // If-Range 가 현재 ETag 와 다르면 (또는 날짜면) Range 를 무시하고 전체 전송
+        if (imageRequest.range != null && (imageRequest.ifRange == null || imageRequest.ifRange.trim().equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(imageRequest.range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    count = ranges.get(0).getRangeEnd(length) - start + 1;
+                    partial = true;
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+        }
+
+        MediaType contentType = image.getContentType() != null
+                ? MediaType.parseMediaType(image.getContentType())
+                : MediaTypeFactory.getMediaType(imageRequest.fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .contentType(contentType)
+                .contentLength(count)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (partial) {
+            builder.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+        }
+        if (imageRequest.head || count == 0) {
+            return builder.build();
+        }
+        return builder.body(new ImageBody(productImageService, image, start, count));
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    private ResponseEntity<StreamingResponseBody> redirectToPresignedImage(String fileName, Optional<ImageSize> imageSize) {
+        String key = fileName;
+        boolean fallback = false;
+        if (imageSize.isPresent()) {
+            String variantKey = imageSize.get().keyFor(fileName);
+            fallback = !imagePresignService.exists(variantKey);
+            key = fallback ? fileName : variantKey;
+        }
+
+        // 리다이렉트 응답은 서명 URL 이 만료되기 전까지만 캐시
+        long maxAge = fallback ? Math.min(60, presignExpirySeconds / 2) : presignExpirySeconds / 2;
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(imagePresignService.presignDownload(key).toString()))
+                .cacheControl(CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePrivate())
+                .build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    // 요청 헤더는 요청 스레드에서 읽어 두고 실행기 스레드로 넘김
+    private static class ImageRequest {
+        private final String fileName;
+        private final Optional<ImageSize> imageSize;
+        private final String ifNoneMatch;
+        private final String range;
+        private final String ifRange;
+        private final boolean head;
+
+        private ImageRequest(String fileName, Optional<ImageSize> imageSize, String ifNoneMatch,
+                             String range, String ifRange, boolean head) {
+            this.fileName = fileName;
+            this.imageSize = imageSize;
+            this.ifNoneMatch = ifNoneMatch;
+            this.range = range;
+            this.ifRange = ifRange;
+            this.head = head;
+        }
+    }
+
+    // 이미지 파일의 [start, start + count) 구간. sendfile 을 쓰지 않으면 open 한 파일을 MVC 비동기 실행기 스레드에서 기록
+    private static class ImageBody implements StreamingResponseBody {
+        private final ProductImageService productImageService;
+        private final CachedImage image;
+        private final long start;
+        private final long count;
+        private FileChannel channel;
+
+        private ImageBody(ProductImageService productImageService, CachedImage image, long start, long count) {
+            this.productImageService = productImageService;
+            this.image = image;
+            this.start = start;
+            this.count = count;
+        }
+
+        // 캐시 고정이 풀리기 전에 호출
+        private void open() throws IOException {
+            channel = productImageService.open(image);
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            try {
+                productImageService.writeRange(channel, start, count, outputStream);
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 읽기 전용 채널이라 닫기 실패는 무시
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ardkyer.rion.controller;
 
 import com.ardkyer.rion.entity.User;
+import com.ardkyer.rion.entity.Video;
 import com.ardkyer.rion.service.UserService;
 import com.ardkyer.rion.service.VideoService;
 import com.ardkyer.rion.service.FollowService;
@@ -10,7 +11,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Controller
 public class RankingController {
@@ -33,14 +38,21 @@ public class RankingController {
             currentUser = userService.findByUsername(authentication.getName());
         }
 
+        // 팔로우 여부는 사용자마다 조회하지 않고 IN 쿼리 한 번으로 확인
+        Set<Long> followedIds = currentUser == null
+                ? Collections.emptySet()
+                : followService.getFollowedUserIds(currentUser,
+                        topUsers.stream().map(User::getId).collect(Collectors.toSet()));
+
+        // 최근 게시물도 사용자마다 조회하지 않고 한 번에 가져와 나눔
+        Map<Long, List<Video>> recentVideos = videoService.getRecentVideosByUsers(topUsers, 5);
+
         for (User user : topUsers) {
             if (user.getAvatarUrl() == null) {
                 user.setAvatarUrl("/default-avatar.png"); // 기본 아바타 URL 설정
             }
-            user.setRecentVideos(videoService.getRecentVideosByUser(user, 5));
-            if (currentUser != null) {
-                user.setFollowedByCurrentUser(followService.isFollowing(currentUser, user));
-            }
+            user.setRecentVideos(recentVideos.getOrDefault(user.getId(), Collections.emptyList()));
+            user.setFollowedByCurrentUser(followedIds.contains(user.getId()));
         }
 
         model.addAttribute("topUsers", topUsers);
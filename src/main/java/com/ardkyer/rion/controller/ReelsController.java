@@ -1,6 +1,6 @@
 package com.ardkyer.rion.controller;
 
-import com.ardkyer.rion.entity.Video;
+import com.ardkyer.rion.dto.VideoCardDto;
 import com.ardkyer.rion.service.VideoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -23,7 +23,7 @@ public class ReelsController {
 
     @GetMapping
     public String showReels(Model model) {
-        List<Video> reels = videoService.getRandomRecentVideos(10);
+        List<VideoCardDto> reels = videoService.getRandomRecentVideoCards(10);
         model.addAttribute("reels", reels);
         return "reels";
     }
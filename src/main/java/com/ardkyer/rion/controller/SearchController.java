@@ -1,8 +1,8 @@
 package com.ardkyer.rion.controller;
 
+import com.ardkyer.rion.dto.VideoCardDto;
 import com.ardkyer.rion.entity.RecentSearch;
 import com.ardkyer.rion.entity.User;
-import com.ardkyer.rion.entity.Video;
 import com.ardkyer.rion.entity.Exercise;
 import com.ardkyer.rion.entity.Hashtag;
 import com.ardkyer.rion.service.ExerciseService;
@@ -47,6 +47,7 @@ public class SearchController {
             private String title;
             private String description;
             private String imageUrl;
+            private String imagePlaceholder;
             private List<String> hashtags;
             private UserDto user;
 
@@ -89,12 +90,12 @@ public class SearchController {
         // 검색 결과 처리
         if (query != null && !query.isEmpty()) {
             Set<String> hashtags = exerciseService.getHashtagsByExerciseName(query);
-            List<Video> videos;
+            List<VideoCardDto> videos;
 
             if (hashtags.isEmpty()) {
-                videos = videoService.searchVideos(query);
+                videos = videoService.searchVideoCards(query);
             } else {
-                videos = videoService.searchVideosByHashtags(hashtags);
+                videos = videoService.searchVideoCardsByHashtags(hashtags);
             }
 
             response.setVideos(convertToVideosDtos(videos));
@@ -140,7 +141,7 @@ public class SearchController {
     }
 
     // Helper methods to convert entities to DTOs
-    private List<SearchResponse.VideoDto> convertToVideosDtos(List<Video> videos) {
+    private List<SearchResponse.VideoDto> convertToVideosDtos(List<VideoCardDto> videos) {
         if (videos == null) return List.of();
 
         return videos.stream()
@@ -149,16 +150,15 @@ public class SearchController {
                     dto.setId(video.getId());
                     dto.setTitle(video.getTitle());
                     dto.setDescription(video.getDescription());
-                    dto.setImageUrl("/api/products/images/" + video.getImageUrl());
+                    dto.setImageUrl("/api/products/images/" + video.getImageUrl() + "?size=card");
+                    dto.setImagePlaceholder(video.getImagePlaceholder());
 
                     SearchResponse.VideoDto.UserDto userDto = new SearchResponse.VideoDto.UserDto();
                     userDto.setId(video.getUser().getId());
                     userDto.setUsername(video.getUser().getUsername());
                     dto.setUser(userDto);
 
-                    dto.setHashtags(video.getHashtags().stream()
-                            .map(hashtag -> hashtag.getName())
-                            .collect(Collectors.toList()));
+                    dto.setHashtags(video.getHashtags());
 
                     return dto;
                 })
@@ -0,0 +1,66 @@
+package com.ardkyer.rion.dto;
+
+import com.ardkyer.rion.entity.Hashtag;
+import com.ardkyer.rion.entity.Video;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 상품 상세 캐시에 저장하는 불변 스냅샷 (엔티티를 캐시에 두지 않음)
+@Getter
+public final class ProductSnapshot {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Integer totalQuantity;
+    private final Integer availableQuantity;
+    private final Video.ReservationStatus reservationStatus;
+    private final String imageUrl;
+    private final Video.ImageStatus imageStatus;
+    private final String imagePlaceholder;
+    private final Long ownerId;
+    private final String ownerUsername;
+    private final List<String> hashtags;
+    private final LocalDateTime updatedAt;
+
+    private ProductSnapshot(Video video) {
+        this.id = video.getId();
+        this.title = video.getTitle();
+        this.description = video.getDescription();
+        this.totalQuantity = video.getTotalQuantity();
+        this.availableQuantity = video.getAvailableQuantity();
+        this.reservationStatus = video.getReservationStatus();
+        this.imageUrl = video.getImageUrl();
+        this.imageStatus = video.getImageStatus() != null ? video.getImageStatus() : Video.ImageStatus.READY;
+        this.imagePlaceholder = video.getImagePlaceholder();
+        this.ownerId = video.getUser().getId();
+        this.ownerUsername = video.getUser().getUsername();
+        this.hashtags = video.getHashtags().stream()
+                .map(Hashtag::getName)
+                .toList();
+        this.updatedAt = video.getUpdatedAt();
+    }
+
+    public static ProductSnapshot from(Video video) {
+        return new ProductSnapshot(video);
+    }
+
+    // 캐시 용량 계산용 대략적인 힙 사용량 (문자열은 UTF-16 기준)
+    public int estimateSizeInBytes() {
+        int size = 128;
+        size += length(title) * 2;
+        size += length(description) * 2;
+        size += length(imageUrl) * 2;
+        size += length(imagePlaceholder) * 2;
+        size += length(ownerUsername) * 2;
+        for (String hashtag : hashtags) {
+            size += 48 + length(hashtag) * 2;
+        }
+        return size;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ardkyer.rion.dto;
+
+import com.ardkyer.rion.entity.Video;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 목록 화면용 읽기 전용 상품 카드 (Video 엔티티 그래프를 만들지 않고 JPQL 생성자 표현식으로 조회)
+@Getter
+@Setter
+public class VideoCardDto {
+    private Long id;
+    private String title;
+    private String description;
+    private Video.ReservationStatus reservationStatus;
+    private Integer totalQuantity;
+    private Integer availableQuantity;
+    private String imageUrl;
+    private String imagePlaceholder;
+    private LocalDateTime createdAt;
+    private Owner user;
+    private List<String> hashtags = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Owner {
+        private Long id;
+        private String username;
+    }
+
+    public VideoCardDto(Long id, String title, String description,
+                        Video.ReservationStatus reservationStatus,
+                        Integer totalQuantity, Integer availableQuantity,
+                        String imageUrl, String imagePlaceholder, LocalDateTime createdAt,
+                        Long userId, String username) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.reservationStatus = reservationStatus;
+        this.totalQuantity = totalQuantity;
+        this.availableQuantity = availableQuantity;
+        this.imageUrl = imageUrl;
+        this.imagePlaceholder = imagePlaceholder;
+        this.createdAt = createdAt;
+        this.user = new Owner();
+        this.user.setId(userId);
+        this.user.setUsername(username);
+    }
+}
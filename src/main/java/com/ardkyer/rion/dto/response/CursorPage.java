@@ -0,0 +1,25 @@
+package com.ardkyer.rion.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;  // 다음 페이지 요청 시 그대로 전달하는 불투명 토큰 (마지막 페이지면 null)
+    private boolean hasNext;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPage<>(mapped, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ardkyer.rion.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 내용 주소(SHA-256) 키로 저장된 이미지와 이를 참조하는 상품 수
+// 마지막 참조가 사라지면 삭제 대기로 표시하고, 삭제 대기열이 저장소에서 지운 뒤 행을 제거
+// 삭제 대기열은 저장소 삭제 동안 행을 잠그지 않고 배치별 펜스(delete_fence)를 세움
+@Entity
+@Table(name = "image_blobs")
+@Getter
+@Setter
+public class ImageBlob {
+    @Id
+    @Column(name = "object_key", length = 191)
+    private String objectKey;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "stored", nullable = false)
+    private boolean stored;  // 저장소 업로드 완료 여부
+
+    @Column(name = "pending_delete", nullable = false)
+    private boolean pendingDelete;  // 참조가 모두 사라져 저장소 삭제를 기다리는 중
+
+    @Column(name = "delete_fence", length = 36)
+    private String deleteFence;  // 저장소 삭제를 진행 중인 배치의 식별자
+
+    @Column(name = "delete_fenced_until")
+    private LocalDateTime deleteFencedUntil;  // 이 시각까지는 같은 키를 다시 업로드하지 않음 (배치가 중단돼도 풀림)
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size")
+    private Long size;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
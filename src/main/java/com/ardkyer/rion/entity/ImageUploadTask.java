@@ -0,0 +1,78 @@
+package com.ardkyer.rion.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 이미지 업로드 아웃박스 (상품 행과 같은 트랜잭션으로 기록하고 S3 업로드는 커밋 후 비동기로 처리)
+@Entity
+@Table(name = "image_upload_outbox", indexes = {
+        @Index(name = "idx_image_upload_outbox_instance_status_next", columnList = "instance_id, status, next_attempt_at"),
+        @Index(name = "idx_image_upload_outbox_object_key", columnList = "object_key")
+})
+@Getter
+@Setter
+public class ImageUploadTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+
+    @Column(name = "object_key", nullable = false)
+    private String objectKey;
+
+    @Column(name = "replaced_key")
+    private String replacedKey;  // 업로드 성공 후 삭제할 이전 이미지 키
+
+    @Column(name = "staged_path", nullable = false)
+    private String stagedPath;
+
+    @Column(name = "instance_id")
+    private String instanceId;  // 임시 파일을 가진 인스턴스 (이 인스턴스만 업로드할 수 있음)
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        PENDING,    // 업로드 대기 (재시도 포함)
+        DONE,       // 업로드 완료
+        FAILED      // 재시도 한도 초과
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -7,7 +7,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "item_units")
+@Table(name = "item_units", indexes = {
+        @Index(name = "idx_item_units_video_status", columnList = "video_id, status, unit_number"),
+        @Index(name = "idx_item_units_reservation", columnList = "reservation_id")
+})
 @Getter
 @Setter
 public class ItemUnit {
@@ -24,6 +27,11 @@ public class ItemUnit {
 
     private int unitNumber;
 
+    // 이 유닛을 점유 중인 예약 (예약 가능 상태면 null)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id")
+    private Reservation reservation;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,50 @@
+package com.ardkyer.rion.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// S3 객체 삭제 대기열 (삭제를 요청한 트랜잭션과 함께 기록되고, 주기적으로 DeleteObjects 배치로 처리)
+@Entity
+@Table(name = "object_deletion_queue", indexes = {
+        @Index(name = "idx_object_deletion_queue_next", columnList = "next_attempt_at"),
+        @Index(name = "idx_object_deletion_queue_key", columnList = "object_key")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ObjectDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_key", nullable = false, length = 1024)
+    private String objectKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public ObjectDeletion(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -6,7 +6,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        // 상품별 대여 기간 겹침 조회 (rental_start_date < :end AND rental_end_date > :start)
+        @Index(name = "idx_reservations_video_period", columnList = "video_id, rental_start_date, rental_end_date")
+})
 @Getter @Setter
 public class Reservation {
     @Id
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,8 +15,12 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "videos")
+@Table(name = "videos", indexes = {
+        @Index(name = "idx_videos_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_videos_user_created_at_id", columnList = "user_id, created_at, id")
+})
 @Getter @Setter
+@DynamicUpdate  // 변경된 컬럼만 UPDATE (비동기 처리기가 갱신한 컬럼을 덮어쓰지 않도록)
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Video {
     @Id
@@ -35,6 +40,18 @@ public class Video {
     @Column(name = "video_url", nullable = false)
     private String imageUrl;
 
+    @Column(name = "image_status")
+    @Enumerated(EnumType.STRING)
+    private ImageStatus imageStatus = ImageStatus.READY;
+
+    // 이미지가 도착하기 전 그릴 BlurHash 미리보기 (리사이즈 이미지 생성 시 계산)
+    @Column(name = "image_placeholder", length = 64)
+    private String imagePlaceholder;
+
+    // 중복 상품 탐지용 64비트 dHash (DuplicateImageIndex 가 시작 시 이 값으로 인덱스를 만듦)
+    @Column(name = "image_dhash")
+    private Long perceptualHash;
+
     @Column(name = "total_quantity")
     private Integer totalQuantity;
 
@@ -48,6 +65,16 @@ public class Video {
     @OneToMany(mappedBy = "video", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ItemUnit> units = new ArrayList<>();
 
+    // 상태별 유닛 수. 유닛 상태가 바뀔 때마다 함께 갱신해 상태 계산에 units 컬렉션을 읽지 않음
+    @Column(name = "available_units", nullable = false)
+    private int availableUnitCount;
+
+    @Column(name = "reserved_units", nullable = false)
+    private int reservedUnitCount;
+
+    @Column(name = "in_use_units", nullable = false)
+    private int inUseUnitCount;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -90,6 +117,12 @@ public class Video {
         }
     }
 
+    public enum ImageStatus {
+        PENDING,    // 업로드 대기 (임시 저장본으로 제공)
+        READY,      // S3 업로드 완료
+        FAILED      // 업로드 실패
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -97,7 +130,6 @@ public class Video {
         if (availableQuantity == null) {
             availableQuantity = totalQuantity;
         }
-        initializeItemUnits();
     }
 
     @PreUpdate
@@ -106,43 +138,38 @@ public class Video {
         updateReservationStatus();
     }
 
-    private void initializeItemUnits() {
-        if (units.isEmpty() && totalQuantity != null && totalQuantity > 0) {  // units를 units로 변경
-            for (int i = 0; i < totalQuantity; i++) {
-                ItemUnit unit = new ItemUnit();
-                unit.setVideo(this);
-                unit.setUnitNumber(i + 1);
-                unit.setStatus(ItemStatus.AVAILABLE);
-                units.add(unit);  // units를 units로 변경
-            }
-        }
-    }
-
     public void updateReservationStatus() {
-        if (units.isEmpty()) {
+        int totalUnits = getTotalUnitCount();
+        if (totalUnits == 0) {
             this.reservationStatus = ReservationStatus.AVAILABLE;
             return;
         }
 
-        long availableCount = units.stream()
-                .filter(unit -> unit.getStatus() == ItemStatus.AVAILABLE)
-                .count();
-
-        if (availableCount == 0) {
+        if (availableUnitCount == 0) {
             this.reservationStatus = ReservationStatus.OUT_OF_STOCK;
-        } else if (availableCount == units.size()) {
+        } else if (availableUnitCount == totalUnits) {
             this.reservationStatus = ReservationStatus.AVAILABLE;
-        } else if (units.stream().anyMatch(unit -> unit.getStatus() == ItemStatus.IN_USE)) {
+        } else if (inUseUnitCount > 0) {
             this.reservationStatus = ReservationStatus.IN_USE;
         } else {
             this.reservationStatus = ReservationStatus.RESERVED;
         }
 
-        this.availableQuantity = (int) availableCount;
+        this.availableQuantity = availableUnitCount;
+    }
+
+    public int getTotalUnitCount() {
+        return availableUnitCount + reservedUnitCount + inUseUnitCount;
+    }
+
+    private void resetUnitCounts(int available) {
+        this.availableUnitCount = available;
+        this.reservedUnitCount = 0;
+        this.inUseUnitCount = 0;
     }
 
     public boolean isAvailableForReservation() {
-        return units.stream().anyMatch(unit -> unit.getStatus() == ItemStatus.AVAILABLE);
+        return availableUnitCount > 0;
     }
 
     public String getVideoUrl() {
@@ -154,6 +181,9 @@ public class Video {
     }
 
     public List<ItemUnit> getAvailableUnits() {
+        if (availableUnitCount == 0) {
+            return List.of();  // 남은 유닛이 없으면 컬렉션을 읽지 않음
+        }
         return units.stream()
                 .filter(unit -> unit.getStatus() == ItemStatus.AVAILABLE)
                 .toList();
@@ -164,21 +194,11 @@ public class Video {
     }
 
     public int getAvailableCount() {
-        return (int) units.stream()
-                .filter(unit -> unit.getStatus() == ItemStatus.AVAILABLE)
-                .count();
+        return availableUnitCount;
     }
 
-    public void initializeUnits() {
-        if (units.isEmpty() && totalQuantity != null && totalQuantity > 0) {
-            for (int i = 0; i < totalQuantity; i++) {
-                ItemUnit unit = new ItemUnit();
-                unit.setVideo(this);
-                unit.setUnitNumber(i + 1);
-                unit.setStatus(ItemStatus.AVAILABLE);
-                units.add(unit);
-            }
-        }
+    // 유닛은 저장 후 ItemUnitProvisioner 가 생성하므로 저장 전에 상태별 유닛 수만 맞춰 둠 (모두 예약 가능)
+    public void markUnitsProvisioned() {
+        resetUnitCounts(totalQuantity != null ? Math.max(0, totalQuantity) : 0);
     }
 }
-
@@ -2,9 +2,14 @@ package com.ardkyer.rion.repository;
 
 import com.ardkyer.rion.entity.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface FollowRepository extends JpaRepository<Follow, Long> {
@@ -13,5 +18,18 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     List<Follow> findByFollower(User follower);
     List<Follow> findByFollowed(User followed);
     long countByFollower(User follower);
+
+    // 팔로워/팔로잉 사용자 목록을 Follow 행마다 프록시 초기화 없이 한 번에 조회
+    @Query("SELECT f.follower FROM Follow f WHERE f.followed = :user")
+    List<User> findFollowerUsers(@Param("user") User user);
+
+    @Query("SELECT f.followed FROM Follow f WHERE f.follower = :user")
+    List<User> findFollowedUsers(@Param("user") User user);
+
     long countByFollowed(User followed);
+
+    // 여러 사용자에 대한 팔로우 여부를 IN 쿼리 한 번으로 조회
+    @Query("SELECT f.followed.id FROM Follow f WHERE f.follower = :follower AND f.followed.id IN :followedIds")
+    Set<Long> findFollowedIdsIn(@Param("follower") User follower,
+                                @Param("followedIds") Collection<Long> followedIds);
 }
\ No newline at end of file
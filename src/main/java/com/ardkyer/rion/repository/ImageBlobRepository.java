@@ -0,0 +1,74 @@
+package com.ardkyer.rion.repository;
+
+import com.ardkyer.rion.entity.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // 동시에 같은 이미지를 올려도 참조 수가 유실되지 않도록 한 문장으로 생성/증가
+    // 삭제 대기 중인 행을 다시 참조하면 저장소 객체가 곧 지워질 수 있으므로 미저장으로 되돌려 다시 업로드하게 함
+    // (MySQL 은 SET 을 왼쪽부터 적용하므로 pending_delete 는 마지막에 초기화)
+    @Modifying
+    @Query(value = "INSERT INTO image_blobs (object_key, ref_count, stored, pending_delete, content_type, size, created_at) " +
+            "VALUES (:key, 1, false, false, :contentType, :size, :now) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "stored = IF(pending_delete, false, stored), " +
+            "ref_count = IF(pending_delete, 1, ref_count + 1), " +
+            "pending_delete = false", nativeQuery = true)
+    int acquire(@Param("key") String key,
+                @Param("contentType") String contentType,
+                @Param("size") long size,
+                @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.stored FROM ImageBlob b WHERE b.objectKey = :key")
+    Optional<Boolean> findStoredByObjectKey(@Param("key") String key);
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount - 1 WHERE b.objectKey = :key AND b.pendingDelete = false")
+    int release(@Param("key") String key);
+
+    // 참조가 남지 않은 경우에만 삭제 대기로 표시 (그 사이 다시 참조되면 0 반환). 행은 저장소 삭제 후 제거
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.pendingDelete = true " +
+            "WHERE b.objectKey = :key AND b.refCount <= 0 AND b.pendingDelete = false")
+    int markPendingDeleteIfUnreferenced(@Param("key") String key);
+
+    boolean existsByObjectKeyAndPendingDeleteFalse(String objectKey);
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.stored = true WHERE b.objectKey = :key")
+    int markStored(@Param("key") String key);
+
+    // 저장소 삭제 전에 삭제 대기 행에 배치 펜스를 세움 (다른 배치의 펜스가 살아 있는 행은 건너뜀)
+    // 펜스가 있는 동안 다시 참조된 이미지는 업로드를 미루므로 진행 중인 삭제가 새로 올린 객체를 지우지 않음
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.deleteFence = :fence, b.deleteFencedUntil = :until " +
+            "WHERE b.objectKey IN :keys AND b.pendingDelete = true " +
+            "AND (b.deleteFence IS NULL OR b.deleteFencedUntil < :now)")
+    int fencePending(@Param("keys") Collection<String> keys,
+                     @Param("fence") String fence,
+                     @Param("until") LocalDateTime until,
+                     @Param("now") LocalDateTime now);
+
+    boolean existsByObjectKeyAndDeleteFencedUntilAfter(String objectKey, LocalDateTime now);
+
+    // 저장소 삭제 후 이 배치가 펜스를 세운 행 중 아직 삭제 대기인 것만 제거 (그 사이 다시 참조된 행은 남김)
+    @Modifying
+    @Query("DELETE FROM ImageBlob b WHERE b.objectKey IN :keys AND b.pendingDelete = true AND b.deleteFence = :fence")
+    int deleteFenced(@Param("keys") Collection<String> keys, @Param("fence") String fence);
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.deleteFence = null, b.deleteFencedUntil = null " +
+            "WHERE b.objectKey IN :keys AND b.deleteFence = :fence")
+    int clearFence(@Param("keys") Collection<String> keys, @Param("fence") String fence);
+}
@@ -0,0 +1,42 @@
+package com.ardkyer.rion.repository;
+
+import com.ardkyer.rion.entity.ImageUploadTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageUploadTaskRepository extends JpaRepository<ImageUploadTask, Long> {
+
+    // 임시 파일은 인스턴스 로컬 디스크에 있으므로 자기 인스턴스가 만든 작업만 조회 (instanceId 도입 전 작업은 누구나)
+    @Query("SELECT t.id FROM ImageUploadTask t " +
+            "WHERE (t.instanceId = :instanceId OR t.instanceId IS NULL) " +
+            "AND t.status = com.ardkyer.rion.entity.ImageUploadTask.Status.PENDING AND t.nextAttemptAt <= :now " +
+            "ORDER BY t.nextAttemptAt")
+    List<Long> findDueTaskIds(@Param("instanceId") String instanceId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 처리할 작업을 선점 (다른 스레드가 같은 작업을 동시에 업로드하지 않도록 lease 설정)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImageUploadTask t SET t.nextAttemptAt = :leaseUntil " +
+            "WHERE t.id = :id AND (t.instanceId = :instanceId OR t.instanceId IS NULL) " +
+            "AND t.status = com.ardkyer.rion.entity.ImageUploadTask.Status.PENDING " +
+            "AND t.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id,
+              @Param("instanceId") String instanceId,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 업로드 전 이미지 요청 시 이 인스턴스에 있는 임시 파일 위치 조회
+    Optional<ImageUploadTask> findFirstByObjectKeyAndStatusAndInstanceId(String objectKey,
+                                                                        ImageUploadTask.Status status,
+                                                                        String instanceId);
+}
@@ -2,11 +2,88 @@ package com.ardkyer.rion.repository;
 
 import com.ardkyer.rion.entity.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemUnitRepository extends JpaRepository<ItemUnit, Long> {
+    interface HeldUnitCountView {
+        Long getVideoId();
+        Long getQuantity();
+    }
+
     List<ItemUnit> findByVideoAndStatus(Video video, ItemStatus status);
     List<ItemUnit> findByVideo(Video video);
-}
\ No newline at end of file
+    List<ItemUnit> findByReservationId(Long reservationId);
+
+    // 예약 가능한 유닛을 잠그며 선점. 다른 트랜잭션이 잠근 행은 기다리지 않고 건너뜀 (MySQL 8.0+)
+    @Query(value = "SELECT id FROM item_units " +
+            "WHERE video_id = :videoId AND status = 'AVAILABLE' " +
+            "ORDER BY unit_number LIMIT :count " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimAvailableUnitIds(@Param("videoId") Long videoId, @Param("count") int count);
+
+    // claimAvailableUnitIds 로 잠근 유닛을 예약에 연결
+    @Modifying
+    @Query("UPDATE ItemUnit u SET u.status = :reserved, u.reservation = :reservation, u.updatedAt = :now " +
+            "WHERE u.id IN :ids")
+    int assignToReservation(@Param("ids") Collection<Long> ids,
+                            @Param("reservation") Reservation reservation,
+                            @Param("reserved") ItemStatus reserved,
+                            @Param("now") LocalDateTime now);
+
+    // 상품의 모든 유닛 또는 지정한 유닛 중 현재 상태가 from 에 속한 것만 한 문장으로 변경
+    // 예약에 연결된 유닛은 예약 상태 변경(대여 시작, 반납, 취소)으로만 바뀌므로 일괄 변경에서 제외
+    @Modifying
+    @Query("UPDATE ItemUnit u SET u.status = :to, u.updatedAt = :now " +
+            "WHERE u.video.id = :videoId AND u.status IN :from AND u.reservation IS NULL")
+    int transitionAllByVideo(@Param("videoId") Long videoId,
+                             @Param("from") Collection<ItemStatus> from,
+                             @Param("to") ItemStatus to,
+                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ItemUnit u SET u.status = :to, u.updatedAt = :now " +
+            "WHERE u.video.id = :videoId AND u.id IN :ids AND u.status IN :from AND u.reservation IS NULL")
+    int transitionByIds(@Param("videoId") Long videoId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("from") Collection<ItemStatus> from,
+                        @Param("to") ItemStatus to,
+                        @Param("now") LocalDateTime now);
+
+    // 단일 유닛 변경. 읽은 뒤 다른 요청이 먼저 바꿨으면 (상태가 previous 가 아니면) 0 을 반환
+    @Modifying
+    @Query("UPDATE ItemUnit u SET u.status = :to, u.updatedAt = :now " +
+            "WHERE u.id = :id AND u.status = :previous AND u.reservation IS NULL")
+    int transitionById(@Param("id") Long id,
+                       @Param("previous") ItemStatus previous,
+                       @Param("to") ItemStatus to,
+                       @Param("now") LocalDateTime now);
+
+    // 기간 없는 예약이 점유한 유닛 수. 반납이나 취소 전까지 모든 대여 기간에서 빠짐
+    @Query("SELECT COUNT(u) FROM ItemUnit u JOIN u.reservation r " +
+            "WHERE u.video.id = :videoId AND r.rentalStartDate IS NULL")
+    long countHeldByUndatedReservations(@Param("videoId") Long videoId);
+
+    @Query("SELECT u.video.id AS videoId, COUNT(u) AS quantity FROM ItemUnit u JOIN u.reservation r " +
+            "WHERE u.video.id IN :videoIds AND r.rentalStartDate IS NULL " +
+            "GROUP BY u.video.id")
+    List<HeldUnitCountView> countHeldByUndatedReservationsIn(@Param("videoIds") Collection<Long> videoIds);
+
+    @Query("SELECT COUNT(u) FROM ItemUnit u " +
+            "WHERE u.video.id = :videoId AND u.id IN :ids AND u.reservation IS NOT NULL")
+    long countReservedByIds(@Param("videoId") Long videoId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE ItemUnit u SET u.status = :available, u.reservation = null, u.updatedAt = :now " +
+            "WHERE u.reservation.id = :reservationId")
+    int releaseReservation(@Param("reservationId") Long reservationId,
+                           @Param("available") ItemStatus available,
+                           @Param("now") LocalDateTime now);
+}
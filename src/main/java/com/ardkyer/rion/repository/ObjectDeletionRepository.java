@@ -0,0 +1,24 @@
+package com.ardkyer.rion.repository;
+
+import com.ardkyer.rion.entity.ObjectDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface ObjectDeletionRepository extends JpaRepository<ObjectDeletion, Long> {
+
+    @Query("SELECT d FROM ObjectDeletion d WHERE d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt")
+    List<ObjectDeletion> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 고아 스위퍼가 이미 대기열에 있는 키를 다시 넣지 않도록 확인
+    @Query("SELECT d.objectKey FROM ObjectDeletion d WHERE d.objectKey IN :keys")
+    Set<String> findQueuedKeys(@Param("keys") Collection<String> keys);
+}
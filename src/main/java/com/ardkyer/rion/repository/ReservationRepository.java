@@ -4,14 +4,50 @@ import com.ardkyer.rion.entity.Reservation;
 import com.ardkyer.rion.entity.User;
 import com.ardkyer.rion.entity.Video;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    interface BookedQuantityView {
+        Long getVideoId();
+        Long getQuantity();
+    }
+
     List<Reservation> findByVideoAndUser(Video video, User user);
     List<Reservation> findByVideo(Video video);
     List<Reservation> findByUser(User user);
+
+    // [start, end) 와 대여 기간이 겹치는 유효 예약의 수량 합계 (종료 시각은 포함하지 않음)
+    @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM Reservation r " +
+            "WHERE r.video.id = :videoId AND r.status IN :statuses " +
+            "AND r.rentalStartDate < :end AND r.rentalEndDate > :start")
+    long sumOverlappingQuantity(@Param("videoId") Long videoId,
+                                @Param("statuses") Collection<Reservation.ReservationStatus> statuses,
+                                @Param("start") LocalDateTime start,
+                                @Param("end") LocalDateTime end);
+
+    @Query("SELECT r.video.id AS videoId, SUM(r.quantity) AS quantity FROM Reservation r " +
+            "WHERE r.video.id IN :videoIds AND r.status IN :statuses " +
+            "AND r.rentalStartDate < :end AND r.rentalEndDate > :start " +
+            "GROUP BY r.video.id")
+    List<BookedQuantityView> sumOverlappingQuantities(@Param("videoIds") Collection<Long> videoIds,
+                                                      @Param("statuses") Collection<Reservation.ReservationStatus> statuses,
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end);
+
+    // 현재 상태가 from 중 하나일 때만 변경 (동시에 두 번 취소돼도 재고는 한 번만 복구)
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :to, r.updatedAt = :now WHERE r.id = :id AND r.status IN :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") Collection<Reservation.ReservationStatus> from,
+                         @Param("to") Reservation.ReservationStatus to,
+                         @Param("now") LocalDateTime now);
 }
\ No newline at end of file
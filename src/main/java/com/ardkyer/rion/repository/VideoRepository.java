@@ -1,20 +1,80 @@
 package com.ardkyer.rion.repository;
 
+import com.ardkyer.rion.dto.VideoCardDto;
 import com.ardkyer.rion.entity.Video;
 import com.ardkyer.rion.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface VideoRepository extends JpaRepository<Video, Long> {
+    String CARD_SELECT = "SELECT new com.ardkyer.rion.dto.VideoCardDto(" +
+            "v.id, v.title, v.description, v.reservationStatus, v.totalQuantity, v.availableQuantity, " +
+            "v.imageUrl, v.imagePlaceholder, v.createdAt, u.id, u.username) " +
+            "FROM Video v JOIN v.user u ";
+
+    interface VideoHashtagView {
+        Long getVideoId();
+        String getName();
+    }
+
+    interface VideoHashView {
+        Long getId();
+        Long getPerceptualHash();
+    }
+
+    interface VideoQuantityView {
+        Long getId();
+        Integer getTotalQuantity();
+    }
+
+    interface UnitStateView {
+        Integer getAvailableQuantity();
+        int getAvailableUnitCount();
+        int getReservedUnitCount();
+        int getInUseUnitCount();
+        Video.ReservationStatus getReservationStatus();
+    }
+
+    interface VideoExportRow {
+        Long getId();
+        String getTitle();
+        Long getOwnerId();
+        String getOwnerUsername();
+        Integer getTotalQuantity();
+        Integer getAvailableQuantity();
+        Video.ReservationStatus getReservationStatus();
+        String getImageUrl();
+        LocalDateTime getCreatedAt();
+        String getHashtag();
+    }
+
     // 기본 조회
     List<Video> findByUserOrderByCreatedAtDesc(User user);
     List<Video> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
+    // 사용자마다 최근 게시물 최대 perUser 개를 한 번에 조회 (사용자 수만큼 LIMIT 쿼리를 반복하지 않음)
+    @Query(value = "SELECT * FROM videos WHERE id IN (" +
+            "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY created_at DESC, id DESC) AS rn " +
+            "FROM videos WHERE user_id IN (:userIds)) ranked WHERE rn <= :perUser) " +
+            "ORDER BY created_at DESC, id DESC", nativeQuery = true)
+    List<Video> findRecentByUserIds(@Param("userIds") Collection<Long> userIds, @Param("perUser") int perUser);
+
     // 예약 관련 조회
     @Query("SELECT v FROM Video v JOIN v.reservations r WHERE r.user = :user")
     List<Video> findByReservationsUser(User user);
@@ -29,4 +89,165 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     // 최근 게시물
     @Query("SELECT v FROM Video v ORDER BY v.createdAt DESC")
     List<Video> findRecentVideos(Pageable pageable);
-}
\ No newline at end of file
+
+    // 목록용 카드 프로젝션 (엔티티 로딩 없음), 키셋 페이지네이션 (created_at DESC, id DESC)
+    @Query(CARD_SELECT + "ORDER BY v.createdAt DESC, v.id DESC")
+    List<VideoCardDto> findCardFirstPage(Pageable pageable);
+
+    @Query(CARD_SELECT +
+            "WHERE v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id) " +
+            "ORDER BY v.createdAt DESC, v.id DESC")
+    List<VideoCardDto> findCardPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE u = :user ORDER BY v.createdAt DESC, v.id DESC")
+    List<VideoCardDto> findCardFirstPageByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(CARD_SELECT +
+            "WHERE u = :user " +
+            "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) " +
+            "ORDER BY v.createdAt DESC, v.id DESC")
+    List<VideoCardDto> findCardPageAfterByUser(@Param("user") User user,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(CARD_SELECT +
+            "WHERE v.title LIKE CONCAT('%', :query, '%') " +
+            "OR v.description LIKE CONCAT('%', :query, '%') " +
+            "OR u.username LIKE CONCAT('%', :query, '%')")
+    List<VideoCardDto> searchCards(@Param("query") String query);
+
+    @Query(CARD_SELECT +
+            "WHERE v.id IN (SELECT hv.id FROM Video hv JOIN hv.hashtags h WHERE h.name IN :hashtags)")
+    List<VideoCardDto> findCardsByHashtagNames(@Param("hashtags") Set<String> hashtags);
+
+    @Query(CARD_SELECT + "ORDER BY v.createdAt DESC")
+    List<VideoCardDto> findRecentCards(Pageable pageable);
+
+    // 카드 목록의 해시태그를 한 번에 조회
+    @Query("SELECT v.id AS videoId, h.name AS name FROM Video v JOIN v.hashtags h WHERE v.id IN :videoIds")
+    List<VideoHashtagView> findHashtagNamesByVideoIds(@Param("videoIds") Collection<Long> videoIds);
+
+    // 전체 카탈로그 내보내기용 스트림 (MySQL 은 fetch size 가 Integer.MIN_VALUE 일 때 행 단위 스트리밍)
+    // 스트리밍 중에는 같은 커넥션으로 다른 쿼리를 실행할 수 없으므로 해시태그까지 한 쿼리로 조인해 id 순으로 읽음
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v.id AS id, v.title AS title, u.id AS ownerId, u.username AS ownerUsername, " +
+            "v.totalQuantity AS totalQuantity, v.availableQuantity AS availableQuantity, " +
+            "v.reservationStatus AS reservationStatus, v.imageUrl AS imageUrl, v.createdAt AS createdAt, " +
+            "h.name AS hashtag " +
+            "FROM Video v JOIN v.user u LEFT JOIN v.hashtags h ORDER BY v.id")
+    Stream<VideoExportRow> streamExportRows();
+
+    // 이미지 키가 그대로일 때만 상태 변경 (그 사이 다른 이미지로 교체됐으면 0 반환). 상세 ETag 가 바뀌도록 updatedAt 도 갱신
+    @Transactional
+    @Modifying
+    @Query("UPDATE Video v SET v.imageStatus = :status, v.updatedAt = :now WHERE v.id = :id AND v.imageUrl = :imageKey")
+    int updateImageStatus(@Param("id") Long id,
+                          @Param("imageKey") String imageKey,
+                          @Param("status") Video.ImageStatus status,
+                          @Param("now") LocalDateTime now);
+
+    // 벌크 유닛 상태 변경 직후 한 상품의 상태별 유닛 수, 예약 가능 수량, 예약 상태를 한 문장으로 다시 계산
+    // (video_id, status) 인덱스 범위만 집계하므로 유닛 엔티티를 읽지 않음. 규칙은 Video.updateReservationStatus 와 같음
+    @Modifying
+    @Query(value = "UPDATE videos v JOIN (" +
+            "SELECT COUNT(*) AS total_units, " +
+            "COALESCE(SUM(status = 'AVAILABLE'), 0) AS available_units, " +
+            "COALESCE(SUM(status = 'RESERVED'), 0) AS reserved_units, " +
+            "COALESCE(SUM(status = 'IN_USE'), 0) AS in_use_units " +
+            "FROM item_units WHERE video_id = :id) c " +
+            "SET v.reservation_status = CASE " +
+            "WHEN c.total_units = 0 OR c.available_units = c.total_units THEN 'AVAILABLE' " +
+            "WHEN c.available_units = 0 THEN 'OUT_OF_STOCK' " +
+            "WHEN c.in_use_units > 0 THEN 'IN_USE' " +
+            "ELSE 'RESERVED' END, " +
+            "v.available_quantity = CASE WHEN c.total_units = 0 THEN v.available_quantity ELSE c.available_units END, " +
+            "v.available_units = c.available_units, " +
+            "v.reserved_units = c.reserved_units, " +
+            "v.in_use_units = c.in_use_units, " +
+            "v.updated_at = :now " +
+            "WHERE v.id = :id", nativeQuery = true)
+    int refreshUnitDerivedState(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT v.availableQuantity AS availableQuantity, v.availableUnitCount AS availableUnitCount, " +
+            "v.reservedUnitCount AS reservedUnitCount, v.inUseUnitCount AS inUseUnitCount, " +
+            "v.reservationStatus AS reservationStatus FROM Video v WHERE v.id = :id")
+    Optional<UnitStateView> findUnitState(@Param("id") Long id);
+
+    // 기간 없는 예약 시 상품 행을 커밋까지 공유 잠금. 기간 없는 예약끼리는 서로 기다리지 않고
+    // 기간 예약의 배타 잠금(lockTotalQuantity)과만 순서가 정해짐
+    @Query(value = "SELECT id FROM videos WHERE id = :id FOR SHARE", nativeQuery = true)
+    Optional<Long> lockForShare(@Param("id") Long id);
+
+    // 기간 예약 시 상품 행을 커밋까지 배타 잠금 (같은 상품의 겹침 확인과 INSERT 직렬화)
+    @Query(value = "SELECT total_quantity FROM videos WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockTotalQuantity(@Param("id") Long id);
+
+    @Query("SELECT v.id AS id, v.totalQuantity AS totalQuantity FROM Video v WHERE v.id IN :ids")
+    List<VideoQuantityView> findTotalQuantities(@Param("ids") Collection<Long> ids);
+
+    // 유닛이 아직 생성되지 않은 상품 (유닛 도입 전 데이터)
+    @Query("SELECT v.id AS id, v.totalQuantity AS totalQuantity FROM Video v " +
+            "WHERE v.totalQuantity > 0 AND NOT EXISTS (SELECT u.id FROM ItemUnit u WHERE u.video = v)")
+    List<VideoQuantityView> findWithoutUnits();
+
+    @Query("SELECT v.user.id FROM Video v WHERE v.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    // 유닛 테이블 기준으로 상태별 유닛 수가 어긋난 상품만 다시 계산 (카운터 도입 전 데이터 보정)
+    @Modifying
+    @Query(value = "UPDATE videos v JOIN (" +
+            "SELECT video_id, " +
+            "SUM(status = 'AVAILABLE') AS available_units, " +
+            "SUM(status = 'RESERVED') AS reserved_units, " +
+            "SUM(status = 'IN_USE') AS in_use_units " +
+            "FROM item_units GROUP BY video_id) c ON c.video_id = v.id " +
+            "SET v.available_units = c.available_units, " +
+            "v.reserved_units = c.reserved_units, " +
+            "v.in_use_units = c.in_use_units " +
+            "WHERE v.available_units <> c.available_units " +
+            "OR v.reserved_units <> c.reserved_units " +
+            "OR v.in_use_units <> c.in_use_units", nativeQuery = true)
+    int reconcileUnitCounts();
+
+    // 같은 이미지(내용 주소 키)를 쓰는 모든 상품에 미리보기 반영. 상세 ETag 가 바뀌도록 updatedAt 도 갱신
+    @Transactional
+    @Modifying
+    @Query("UPDATE Video v SET v.imagePlaceholder = :placeholder, v.updatedAt = :now WHERE v.imageUrl = :imageKey")
+    int updateImagePlaceholder(@Param("imageKey") String imageKey,
+                               @Param("placeholder") String placeholder,
+                               @Param("now") LocalDateTime now);
+
+    @Query("SELECT v.id FROM Video v WHERE v.imageUrl = :imageKey")
+    List<Long> findIdsByImageUrl(@Param("imageKey") String imageKey);
+
+    // 같은 이미지를 쓰는 모든 상품에 dHash 반영 (응답에 노출되지 않으므로 updatedAt 은 그대로)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Video v SET v.perceptualHash = :hash WHERE v.imageUrl = :imageKey")
+    int updatePerceptualHash(@Param("imageKey") String imageKey, @Param("hash") Long hash);
+
+    // 중복 이미지 인덱스 재구성용
+    @Query("SELECT v.id AS id, v.perceptualHash AS perceptualHash FROM Video v WHERE v.perceptualHash IS NOT NULL")
+    List<VideoHashView> findPerceptualHashes();
+
+    // 이미 저장된 이미지를 재사용할 때 계산해 둔 미리보기를 복사
+    @Query("SELECT v.imagePlaceholder FROM Video v WHERE v.imageUrl = :imageKey AND v.imagePlaceholder IS NOT NULL")
+    List<String> findPlaceholdersByImageUrl(@Param("imageKey") String imageKey, Pageable pageable);
+
+    // 이미 저장된 이미지를 재사용하면 리사이즈 작업이 다시 돌지 않으므로 계산해 둔 dHash 를 복사
+    @Query("SELECT v.perceptualHash FROM Video v WHERE v.imageUrl = :imageKey AND v.perceptualHash IS NOT NULL")
+    List<Long> findPerceptualHashesByImageUrl(@Param("imageKey") String imageKey, Pageable pageable);
+
+    // 직접 업로드 확인 시 같은 객체 키를 다른 상품이 이미 사용 중인지 확인
+    boolean existsByImageUrl(String imageUrl);
+
+    // 고아 객체 스위퍼: 주어진 키 중 상품이 참조하는 키
+    @Query("SELECT v.imageUrl FROM Video v WHERE v.imageUrl IN :keys")
+    Set<String> findImageUrlsIn(@Param("keys") Collection<String> keys);
+}
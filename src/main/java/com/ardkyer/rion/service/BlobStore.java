@@ -0,0 +1,74 @@
+package com.ardkyer.rion.service;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// 이미지 등 바이너리 객체 저장소 (storage.type=s3 이면 S3, local 이면 로컬 파일시스템)
+public interface BlobStore {
+
+    // 크기를 아는 객체 저장
+    void put(String key, InputStream in, long contentLength, String contentType) throws IOException;
+
+    // 길이를 모르는 스트림 저장. maxBytes 를 넘으면 저장하지 않고 IllegalArgumentException
+    long putStream(String key, InputStream in, String contentType,
+                   Map<String, String> userMetadata, long maxBytes) throws IOException;
+
+    // 객체를 target 파일로 복사. 없으면 BlobNotFoundException
+    BlobInfo copyTo(String key, Path target) throws IOException;
+
+    // 같은 저장소 안에서 객체를 메타데이터와 함께 복사. 원본이 없으면 BlobNotFoundException
+    void copy(String sourceKey, String targetKey) throws IOException;
+
+    Optional<BlobInfo> stat(String key);
+
+    // 삭제에 실패한 키와 사유를 반환 (없는 키는 성공으로 취급)
+    Map<String, String> deleteAll(Collection<String> keys);
+
+    // 저장된 모든 객체를 페이지 단위로 순회
+    void forEachPage(Consumer<List<BlobInfo>> consumer);
+
+    // 클라이언트에 내려주는 객체 URL (아바타 등)
+    String publicUrl(String key);
+
+    boolean supportsPresignedUrls();
+
+    URL presignPut(String key, String contentType, Map<String, String> userMetadata, Instant expiresAt);
+
+    URL presignGet(String key, Instant expiresAt);
+
+    @Getter
+    class BlobInfo {
+        private final String key;
+        private final long size;
+        private final String contentType;
+        private final String eTag;
+        private final Instant lastModified;
+        private final Map<String, String> userMetadata;
+
+        public BlobInfo(String key, long size, String contentType, String eTag,
+                        Instant lastModified, Map<String, String> userMetadata) {
+            this.key = key;
+            this.size = size;
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.userMetadata = userMetadata;
+        }
+    }
+
+    class BlobNotFoundException extends RuntimeException {
+        public BlobNotFoundException(String key) {
+            super("Blob not found: " + key);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 상품 이미지 dHash 의 BK-tree (해밍 거리) 인덱스. 시작 시와 주기적으로 DB 에서 다시 만듦
+// 직접 업로드한 이미지는 임시 저장 때 계산한 지문을 생성 요청에서 바로 등록하고,
+// 사전 서명 URL 로 올린 이미지는 리사이즈 이미지 생성(ImageDerivativeService) 때 계산해 등록
+// 인스턴스마다 메모리에 따로 두므로 다른 인스턴스의 변경은 다음 재구성 때 반영됨
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DuplicateImageIndex {
+
+    private final VideoRepository videoRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node root;
+    private Map<Long, Long> hashesByVideoId = new HashMap<>();
+    private Map<Long, Long> changesDuringRebuild;  // 재구성 중 변경 (값이 null 이면 삭제)
+
+    @Value("${duplicate.max-distance:8}")
+    private int defaultMaxDistance;
+
+    private static class Node {
+        private final long hash;
+        private final Set<Long> videoIds = new HashSet<>();
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Node(long hash) {
+            this.hash = hash;
+        }
+    }
+
+    public int getDefaultMaxDistance() {
+        return defaultMaxDistance;
+    }
+
+    // 시작 시 재구성은 별도 스레드에서 실행해 애플리케이션 준비를 막지 않음 (그동안 유사 상품 조회는 빈 결과)
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${duplicate.index.rebuild-interval-ms:600000}",
+            initialDelayString = "${duplicate.index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        // DB 를 읽는 동안 들어온 추가/삭제는 기록해 두었다가 새 트리에 다시 반영
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Node newRoot = null;
+        Map<Long, Long> newHashes = new HashMap<>();
+        try {
+            for (VideoRepository.VideoHashView row : videoRepository.findPerceptualHashes()) {
+                newHashes.put(row.getId(), row.getPerceptualHash());
+                newRoot = insert(newRoot, row.getId(), row.getPerceptualHash());
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Map<Long, Long> changes = changesDuringRebuild;
+            changesDuringRebuild = null;
+            root = newRoot;
+            hashesByVideoId = newHashes;
+            changes.forEach((videoId, hash) -> {
+                removeLocked(videoId);
+                if (hash != null) {
+                    hashesByVideoId.put(videoId, hash);
+                    root = insert(root, videoId, hash);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Rebuilt duplicate image index with {} products", newHashes.size());
+    }
+
+    public void add(Long videoId, long hash) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(videoId);
+            hashesByVideoId.put(videoId, hash);
+            root = insert(root, videoId, hash);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(videoId, hash);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long videoId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(videoId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(videoId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 해밍 거리 maxDistance 이내의 상품 ID (가까운 순)
+    public List<Long> findSimilar(long hash, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            List<long[]> matches = new ArrayList<>();  // {videoId, distance}
+            if (root == null) {
+                return List.of();
+            }
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int distance = PerceptualHash.distance(node.hash, hash);
+                if (distance <= maxDistance) {
+                    node.videoIds.forEach(id -> matches.add(new long[]{id, distance}));
+                }
+                // 삼각 부등식: 자식 간선 거리가 [d - max, d + max] 인 가지만 탐색
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                        stack.push(child.getValue());
+                    }
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingLong(match -> match[1]))
+                    .map(match -> match[0])
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 서로 maxDistance 이내로 이어지는 상품 묶음 (2개 이상인 것만, 큰 묶음 먼저)
+    public List<List<Long>> findClusters(int maxDistance) {
+        Map<Long, Long> snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = new HashMap<>(hashesByVideoId);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Long> parent = new HashMap<>();
+        snapshot.keySet().forEach(id -> parent.put(id, id));
+        snapshot.forEach((id, hash) -> {
+            for (Long other : findSimilar(hash, maxDistance)) {
+                if (parent.containsKey(other)) {
+                    union(parent, id, other);
+                }
+            }
+        });
+
+        Map<Long, List<Long>> groups = new HashMap<>();
+        parent.keySet().forEach(id -> groups.computeIfAbsent(find(parent, id), key -> new ArrayList<>()).add(id));
+        return groups.values().stream()
+                .filter(group -> group.size() > 1)
+                .peek(group -> group.sort(Comparator.naturalOrder()))
+                .sorted(Comparator.comparingInt((List<Long> group) -> group.size()).reversed())
+                .toList();
+    }
+
+    private Node insert(Node node, Long videoId, long hash) {
+        if (node == null) {
+            Node created = new Node(hash);
+            created.videoIds.add(videoId);
+            return created;
+        }
+        Node current = node;
+        while (true) {
+            int distance = PerceptualHash.distance(current.hash, hash);
+            if (distance == 0) {
+                current.videoIds.add(videoId);
+                return node;
+            }
+            Node child = current.children.get(distance);
+            if (child == null) {
+                Node created = new Node(hash);
+                created.videoIds.add(videoId);
+                current.children.put(distance, created);
+                return node;
+            }
+            current = child;
+        }
+    }
+
+    // BK-tree 는 노드를 떼어낼 수 없으므로 ID 만 지우고 빈 노드는 다음 재구성 때 정리
+    private void removeLocked(Long videoId) {
+        Long hash = hashesByVideoId.remove(videoId);
+        Node current = root;
+        while (hash != null && current != null) {
+            int distance = PerceptualHash.distance(current.hash, hash);
+            if (distance == 0) {
+                current.videoIds.remove(videoId);
+                return;
+            }
+            current = current.children.get(distance);
+        }
+    }
+
+    private Long find(Map<Long, Long> parent, Long id) {
+        Long current = id;
+        while (!parent.get(current).equals(current)) {
+            parent.put(current, parent.get(parent.get(current)));
+            current = parent.get(current);
+        }
+        return current;
+    }
+
+    private void union(Map<Long, Long> parent, Long a, Long b) {
+        Long rootA = find(parent, a);
+        Long rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootA, rootB);
+        }
+    }
+}
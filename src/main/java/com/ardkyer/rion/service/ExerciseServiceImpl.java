@@ -17,7 +17,7 @@ public class ExerciseServiceImpl implements ExerciseService{
 
     @Override
     public List<Exercise> getAllExercises() {
-        return exerciseRepository.findAll();
+        return exerciseRepository.findAllWithHashtags();
     }
 
     @Override
@@ -6,13 +6,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface FollowService {
     Follow followUser(User follower, User followed);
     void unfollowUser(User follower, User followed);
     boolean isFollowing(User follower, User followed);
+    Set<Long> getFollowedUserIds(User follower, Collection<Long> candidateIds);
     List<User> getFollowers(User user);
     List<User> getFollowing(User user);
     long getFollowerCount(User user);
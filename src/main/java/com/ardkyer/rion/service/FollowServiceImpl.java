@@ -6,8 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class FollowServiceImpl implements FollowService {
@@ -44,19 +46,22 @@ public class FollowServiceImpl implements FollowService {
         return followRepository.existsByFollowerAndFollowed(follower, followed);
     }
 
+    @Override
+    public Set<Long> getFollowedUserIds(User follower, Collection<Long> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return followRepository.findFollowedIdsIn(follower, candidateIds);
+    }
+
     @Override
     public List<User> getFollowers(User user) {
-        return followRepository.findByFollowed(user).stream()
-                .map(Follow::getFollower)
-                .toList();
+        return followRepository.findFollowerUsers(user);
     }
 
     @Override
     public List<User> getFollowing(User user) {
-        List<Follow> followings = followRepository.findByFollower(user);
-        return followings.stream()
-                .map(Follow::getFollowed)
-                .collect(Collectors.toList());
+        return followRepository.findFollowedUsers(user);
     }
 
     @Override
@@ -0,0 +1,58 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.repository.ImageBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// 내용 주소 이미지의 참조 수 관리. 참조 수 행이 없는 키(UUID_파일명 등 이전 형식)는 상품 하나만 쓰므로 바로 삭제
+@Service
+@RequiredArgsConstructor
+public class ImageBlobService {
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final ObjectDeletionQueue objectDeletionQueue;
+
+    // 참조를 하나 늘리고, 이미 저장소에 올라가 있으면 true (업로드 생략 가능). 삭제 대기 중이던 이미지는 false
+    @Transactional
+    public boolean acquire(String key, String contentType, long size) {
+        imageBlobRepository.acquire(key, contentType, size, LocalDateTime.now());
+        return imageBlobRepository.findStoredByObjectKey(key).orElse(false);
+    }
+
+    // 참조를 하나 줄이고, 마지막 참조였으면 삭제 대기로 표시한 뒤 원본과 리사이즈 이미지를 삭제 대기열에 넣음
+    @Transactional
+    public void release(String key) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        if (imageBlobRepository.release(key) == 0) {
+            objectDeletionQueue.enqueueImage(key);
+            return;
+        }
+        if (imageBlobRepository.markPendingDeleteIfUnreferenced(key) > 0) {
+            objectDeletionQueue.enqueueImage(key);
+        }
+    }
+
+    // 같은 키의 이전 객체를 삭제 대기열이 지우는 중이면 true (그동안 업로드하면 새 객체가 지워질 수 있음)
+    @Transactional(readOnly = true)
+    public boolean isDeleteFenced(String key) {
+        return imageBlobRepository.existsByObjectKeyAndDeleteFencedUntilAfter(key, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void markStored(String key) {
+        imageBlobRepository.markStored(key);
+    }
+
+    // 업로드가 끝났지만 그 사이 참조가 모두 사라진 경우 정리
+    @Transactional
+    public void deleteIfUnreferenced(String key) {
+        if (!imageBlobRepository.existsByObjectKeyAndPendingDeleteFalse(key)) {
+            objectDeletionQueue.enqueueImage(key);
+        }
+    }
+}
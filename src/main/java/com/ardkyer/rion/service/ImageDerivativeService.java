@@ -0,0 +1,102 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.service.ImageDiskCache.CachedImage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+// 업로드된 원본에서 목록/상세용 리사이즈 이미지와 BlurHash 미리보기를 만들어 저장
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImageDerivativeService {
+
+    private static final int PLACEHOLDER_SOURCE_SIZE = 32;  // BlurHash 는 작은 이미지로도 충분
+    private static final int PLACEHOLDER_COMPONENTS_X = 4;
+    private static final int PLACEHOLDER_COMPONENTS_Y = 3;
+
+    private final BlobStore blobStore;
+    private final ProductImageService productImageService;
+    private final VideoService videoService;
+    private final DuplicateImageIndex duplicateImageIndex;
+
+    @Async("imageTaskExecutor")
+    public void generateAsync(String originalKey) {
+        try {
+            generate(originalKey);
+        } catch (Exception e) {
+            // 실패해도 원본으로 대체 제공되므로 로그만 남김
+            log.error("Failed to generate image derivatives for {}: {}", originalKey, e.getMessage());
+        }
+    }
+
+    public void generate(String originalKey) throws IOException {
+        CachedImage original = productImageService.getImage(originalKey);
+        BufferedImage source;
+        try (InputStream in = Files.newInputStream(original.getPath())) {
+            source = ImageIO.read(in);
+        } finally {
+            productImageService.release(original);
+        }
+        if (source == null) {
+            log.warn("Unsupported image format, skipping derivatives: {}", originalKey);
+            return;
+        }
+
+        for (ImageSize size : ImageSize.values()) {
+            byte[] bytes = toJpeg(resize(source, size.getMaxDimension()));
+
+            blobStore.put(size.keyFor(originalKey), new ByteArrayInputStream(bytes), bytes.length, "image/jpeg");
+        }
+        productImageService.variantsCreated(originalKey);
+        String placeholder = BlurHashEncoder.encode(resize(source, PLACEHOLDER_SOURCE_SIZE),
+                PLACEHOLDER_COMPONENTS_X, PLACEHOLDER_COMPONENTS_Y);
+        videoService.updateImagePlaceholder(originalKey, placeholder);
+
+        long hash = PerceptualHash.dHash(source);
+        videoService.updatePerceptualHash(originalKey, hash)
+                .forEach(videoId -> duplicateImageIndex.add(videoId, hash));
+        log.info("Generated image derivatives for {}", originalKey);
+    }
+
+    // 긴 변이 maxDimension 이 되도록 비율 유지 축소 (원본이 더 작으면 크기 유지)
+    private BufferedImage resize(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        // JPEG 는 알파 채널이 없으므로 흰 배경 RGB 로 그림
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,349 @@
+package com.ardkyer.rion.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// S3 이미지 객체를 로컬 디스크에 보관하는 용량 제한 LRU 캐시
+@Component
+@Slf4j
+public class ImageDiskCache {
+
+    private static final String DATA_SUFFIX = ".bin";
+    private static final String META_SUFFIX = ".meta";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // accessOrder = true 이므로 순회 순서가 곧 LRU 순서
+    private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    // 전송이나 디코딩 중인 항목의 고정 횟수. 고정된 항목은 퇴출돼도 파일을 바로 지우지 않고 마지막 해제 때 지움
+    private final Map<CachedImage, Integer> pins = new HashMap<>();
+    private final Set<CachedImage> retired = new HashSet<>();
+
+    // 같은 키에 대한 동시 미스는 하나의 S3 요청을 공유
+    private final ConcurrentHashMap<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Fetcher {
+        // target 경로에 원본을 기록하고 메타데이터를 반환
+        Metadata fetch(String key, Path target) throws IOException;
+    }
+
+    @Getter
+    public static class Metadata {
+        private final String contentType;
+        private final String eTag;
+
+        public Metadata(String contentType, String eTag) {
+            this.contentType = contentType;
+            this.eTag = eTag;
+        }
+    }
+
+    @Getter
+    public static class CachedImage {
+        private final String key;
+        private final Path path;
+        private final long contentLength;
+        private final String contentType;
+        private final String eTag;
+
+        private CachedImage(String key, Path path, long contentLength, Metadata metadata) {
+            this.key = key;
+            this.path = path;
+            this.contentLength = contentLength;
+            this.contentType = metadata.getContentType();
+            this.eTag = metadata.getETag();
+        }
+    }
+
+    public ImageDiskCache(@Value("${image.cache.dir:${java.io.tmpdir}/rion-image-cache}") String directory,
+                          @Value("${image.cache.max-bytes:536870912}") long maxBytes) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    @PostConstruct
+    void loadExistingEntries() throws IOException {
+        Files.createDirectories(directory);
+
+        // 재시작 시 디스크에 남은 항목을 마지막 접근 시각 순으로 다시 등록
+        List<Path> dataFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(DATA_SUFFIX)) {
+                    dataFiles.add(file);
+                } else if (name.endsWith(".tmp")) {
+                    deleteQuietly(file);
+                }
+            });
+        }
+        dataFiles.sort(Comparator.comparing(this::lastModified));
+
+        synchronized (this) {
+            for (Path dataFile : dataFiles) {
+                Path metaFile = metaPath(dataFile);
+                try (InputStream in = Files.newInputStream(metaFile)) {
+                    Properties properties = new Properties();
+                    properties.load(in);
+                    String key = properties.getProperty("key");
+                    Metadata metadata = new Metadata(properties.getProperty("contentType"), properties.getProperty("eTag"));
+                    CachedImage image = new CachedImage(key, dataFile, Files.size(dataFile), metadata);
+                    entries.put(key, image);
+                    totalBytes += image.getContentLength();
+                } catch (IOException | RuntimeException e) {
+                    deleteQuietly(dataFile);
+                    deleteQuietly(metaFile);
+                }
+            }
+            evictIfNeeded();
+        }
+        log.info("Image disk cache ready: {} entries, {} bytes in {}", entries.size(), totalBytes, directory);
+    }
+
+    // 반환된 항목은 고정된 상태이므로 파일 사용이 끝나면 반드시 release 호출
+    public CachedImage get(String key, Fetcher fetcher) throws IOException {
+        while (true) {
+            CachedImage cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            CompletableFuture<CachedImage> future = new CompletableFuture<>();
+            CompletableFuture<CachedImage> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                // 다른 요청이 받은 항목은 그 사이 퇴출돼 파일이 지워졌을 수 있으므로 고정에 실패하면 다시 조회
+                CachedImage shared = await(existing);
+                if (tryPin(shared)) {
+                    return shared;
+                }
+                continue;
+            }
+
+            try {
+                // 먼저 시작된 다운로드가 방금 끝났을 수 있으므로 다시 확인
+                CachedImage loaded = lookup(key);
+                if (loaded == null) {
+                    loaded = download(key, fetcher);
+                }
+                future.complete(loaded);
+                return loaded;
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, future);
+            }
+        }
+    }
+
+    // 저장소 조회 없이 이미 디스크에 있는 항목만 고정해서 반환 (없으면 null)
+    public CachedImage getIfPresent(String key) {
+        return lookup(key);
+    }
+
+    public void release(CachedImage image) {
+        boolean delete = false;
+        synchronized (this) {
+            Integer count = pins.get(image);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                pins.put(image, count - 1);
+                return;
+            }
+            pins.remove(image);
+            // 같은 키로 다시 받은 항목은 같은 경로를 쓰므로 그때는 파일을 남김
+            delete = retired.remove(image) && !entries.containsKey(image.getKey());
+        }
+        if (delete) {
+            deleteFiles(image);
+        }
+    }
+
+    public void evict(String key) {
+        CachedImage removed;
+        synchronized (this) {
+            removed = entries.remove(key);
+            if (removed != null) {
+                totalBytes -= removed.getContentLength();
+                removed = retireIfPinned(removed);
+            }
+        }
+        if (removed != null) {
+            deleteFiles(removed);
+        }
+    }
+
+    // 파일이 있는 항목을 찾으면 고정해서 반환
+    private CachedImage lookup(String key) {
+        CachedImage image;
+        synchronized (this) {
+            image = entries.get(key);
+            if (image != null) {
+                pins.merge(image, 1, Integer::sum);
+            }
+        }
+        if (image != null && !Files.exists(image.getPath())) {
+            release(image);
+            evict(key);
+            return null;
+        }
+        return image;
+    }
+
+    // 아직 캐시에 있거나 다른 곳에서 고정 중이라 파일이 남아 있는 항목만 고정
+    private synchronized boolean tryPin(CachedImage image) {
+        if (entries.get(image.getKey()) != image && !pins.containsKey(image)) {
+            return false;
+        }
+        pins.merge(image, 1, Integer::sum);
+        return true;
+    }
+
+    // synchronized 블록 안에서만 호출. 고정된 항목이면 보류 목록에 넣고 null, 아니면 바로 지울 항목 반환
+    private CachedImage retireIfPinned(CachedImage image) {
+        if (pins.containsKey(image)) {
+            retired.add(image);
+            return null;
+        }
+        return image;
+    }
+
+    private CachedImage download(String key, Fetcher fetcher) throws IOException {
+        String fileId = hash(key);
+        Path target = directory.resolve(fileId + DATA_SUFFIX);
+        Path temp = Files.createTempFile(directory, fileId, ".tmp");
+        try {
+            Metadata metadata = fetcher.fetch(key, temp);
+            writeMeta(target, key, metadata);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            CachedImage image = new CachedImage(key, target, Files.size(target), metadata);
+            synchronized (this) {
+                // 바로 퇴출되더라도 호출자가 쓰는 동안 파일이 남도록 등록과 함께 고정
+                pins.merge(image, 1, Integer::sum);
+                CachedImage previous = entries.put(key, image);
+                if (previous != null) {
+                    totalBytes -= previous.getContentLength();
+                }
+                totalBytes += image.getContentLength();
+                evictIfNeeded();
+            }
+            return image;
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    // synchronized 블록 안에서만 호출
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, CachedImage>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            CachedImage eldest = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= eldest.getContentLength();
+            if (retireIfPinned(eldest) != null) {
+                deleteFiles(eldest);
+            }
+        }
+    }
+
+    private CachedImage await(CompletableFuture<CachedImage> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private void writeMeta(Path dataFile, String key, Metadata metadata) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("key", key);
+        if (metadata.getContentType() != null) {
+            properties.setProperty("contentType", metadata.getContentType());
+        }
+        if (metadata.getETag() != null) {
+            properties.setProperty("eTag", metadata.getETag());
+        }
+        try (OutputStream out = Files.newOutputStream(metaPath(dataFile))) {
+            properties.store(out, null);
+        }
+    }
+
+    private Path metaPath(Path dataFile) {
+        String name = dataFile.getFileName().toString();
+        return dataFile.resolveSibling(name.substring(0, name.length() - DATA_SUFFIX.length()) + META_SUFFIX);
+    }
+
+    private void deleteFiles(CachedImage image) {
+        deleteQuietly(image.getPath());
+        deleteQuietly(metaPath(image.getPath()));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached image file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    // 파일 이름을 그대로 경로로 쓰지 않도록 키를 해시
+    private String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
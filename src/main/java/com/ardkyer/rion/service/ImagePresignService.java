@@ -0,0 +1,151 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.User;
+import com.ardkyer.rion.service.BlobStore.BlobInfo;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 클라이언트가 버킷에 직접 업로드/다운로드하도록 짧은 수명의 pre-signed URL 발급
+// (pre-signed URL 을 쓸 수 없는 클라이언트나 저장소는 요청 본문을 그대로 저장소로 흘려보냄)
+@Service
+@RequiredArgsConstructor
+public class ImagePresignService {
+
+    private static final String OWNER_HEADER = "x-amz-meta-owner";
+    private static final String OWNER_METADATA = "owner";
+    // 클라이언트가 직접 쓰는 업로드 키 접두사. 상품에는 확인 시 서버가 정한 키로 복사한 사본만 연결
+    private static final String UPLOAD_PREFIX = "uploads/";
+
+    private final BlobStore blobStore;
+    private final ObjectDeletionQueue objectDeletionQueue;
+
+    @Value("${image.presign.expiry-seconds:300}")
+    private long expirySeconds;
+
+    @Value("${image.upload.max-bytes:52428800}")
+    private long maxUploadBytes;
+
+    @Getter
+    public static class PresignedUpload {
+        private final String key;
+        private final String uploadUrl;
+        private final Map<String, String> headers;  // PUT 요청에 그대로 포함해야 하는 헤더 (서명 대상)
+        private final Instant expiresAt;
+
+        private PresignedUpload(String key, String uploadUrl, Map<String, String> headers, Instant expiresAt) {
+            this.key = key;
+            this.uploadUrl = uploadUrl;
+            this.headers = headers;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public PresignedUpload presignUpload(User user, String fileName, String contentType) {
+        if (!blobStore.supportsPresignedUrls()) {
+            throw new IllegalArgumentException("Pre-signed uploads are not supported by the configured storage");
+        }
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Only image uploads are allowed");
+        }
+
+        String key = UPLOAD_PREFIX + newKey(fileName);
+        Instant expiresAt = Instant.now().plusSeconds(expirySeconds);
+
+        // 업로드한 사용자를 객체 메타데이터로 서명에 포함시켜, 확인 단계에서 다른 사용자의 키를 쓰지 못하게 함
+        URL url = blobStore.presignPut(key, contentType,
+                Map.of(OWNER_METADATA, String.valueOf(user.getId())), expiresAt);
+
+        return new PresignedUpload(key, url.toString(),
+                Map.of("Content-Type", contentType, OWNER_HEADER, String.valueOf(user.getId())),
+                expiresAt);
+    }
+
+    // 요청 본문을 버퍼링 없이 업로드. 이후 확인 단계는 pre-signed 업로드와 동일
+    public String streamUpload(User user, String fileName, String contentType, InputStream in) throws IOException {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Only image uploads are allowed");
+        }
+
+        String key = UPLOAD_PREFIX + newKey(fileName);
+        blobStore.putStream(key, in, contentType,
+                Map.of(OWNER_METADATA, String.valueOf(user.getId())), maxUploadBytes);
+        return key;
+    }
+
+    private String newKey(String fileName) {
+        return UUID.randomUUID() + "_" + fileName;
+    }
+
+    // 직접 업로드된 객체를 확인한 뒤 서버가 정한 키로 복사하고 그 키를 반환
+    // 서명 URL 은 만료 전까지 같은 키에 다시 쓸 수 있으므로, 상품이 참조하는 객체는 클라이언트가 덮어쓸 수 없게 함
+    public String promoteUpload(User user, String uploadKey) throws IOException {
+        if (uploadKey == null || !uploadKey.startsWith(UPLOAD_PREFIX) || uploadKey.indexOf('_') < 0) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        verifyUpload(user, uploadKey);  // 거부된 업로드 키는 고아 객체 스위퍼가 정리
+
+        String key = newKey(uploadKey.substring(uploadKey.indexOf('_') + 1));
+        try {
+            blobStore.copy(uploadKey, key);
+        } catch (BlobStore.BlobNotFoundException e) {
+            throw new IllegalArgumentException("Uploaded image not found");
+        }
+        // 같은 업로드로 다시 확인하지 못하게 원본은 바로 삭제 (실패하면 대기열에서 재시도)
+        if (!blobStore.deleteAll(List.of(uploadKey)).isEmpty()) {
+            objectDeletionQueue.enqueue(uploadKey);
+        }
+
+        // 확인과 복사 사이에 업로드 키가 덮어써졌을 수 있으므로 사본을 다시 확인
+        try {
+            verifyUpload(user, key);
+        } catch (IllegalArgumentException e) {
+            objectDeletionQueue.enqueue(key);
+            throw e;
+        }
+        return key;
+    }
+
+    // 상품 등록이 실패해 연결되지 않은 사본 삭제
+    public void discard(String key) {
+        objectDeletionQueue.enqueue(key);
+    }
+
+    // 직접 업로드된 객체가 요청한 사용자의 것이며 이미지 제한을 만족하는지 확인
+    private BlobInfo verifyUpload(User user, String key) {
+        BlobInfo metadata = blobStore.stat(key)
+                .orElseThrow(() -> new IllegalArgumentException("Uploaded image not found"));
+
+        if (!String.valueOf(user.getId()).equals(metadata.getUserMetadata().get(OWNER_METADATA))) {
+            throw new IllegalArgumentException("Uploaded image does not belong to the current user");
+        }
+        if (metadata.getContentType() == null || !metadata.getContentType().startsWith("image/")) {
+            throw new IllegalArgumentException("Uploaded object is not an image");
+        }
+        if (metadata.getSize() > maxUploadBytes) {
+            throw new IllegalArgumentException("Uploaded image is too large");
+        }
+        return metadata;
+    }
+
+    public boolean isSupported() {
+        return blobStore.supportsPresignedUrls();
+    }
+
+    public URL presignDownload(String key) {
+        return blobStore.presignGet(key, Instant.now().plusSeconds(expirySeconds));
+    }
+
+    public boolean exists(String key) {
+        return blobStore.stat(key).isPresent();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ardkyer.rion.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+// 업로드 시 생성하는 리사이즈 이미지 규격 (긴 변 기준 픽셀)
+public enum ImageSize {
+    THUMBNAIL(160),
+    CARD(480),
+    DETAIL(1080);
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    // 원본과 같은 버킷에 derived/{size}/{원본 키} 로 저장
+    public String keyFor(String originalKey) {
+        return "derived/" + name().toLowerCase() + "/" + originalKey;
+    }
+
+    public static List<String> allKeysFor(String originalKey) {
+        return Arrays.stream(values())
+                .map(size -> size.keyFor(originalKey))
+                .toList();
+    }
+
+    // 리사이즈 이미지 키이면 원본 키를 반환
+    public static Optional<String> originalKeyOf(String key) {
+        return Arrays.stream(values())
+                .map(size -> "derived/" + size.name().toLowerCase() + "/")
+                .filter(key::startsWith)
+                .map(prefix -> key.substring(prefix.length()))
+                .findFirst();
+    }
+
+    public static Optional<ImageSize> from(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(size -> size.name().equalsIgnoreCase(value))
+                .findFirst();
+    }
+}
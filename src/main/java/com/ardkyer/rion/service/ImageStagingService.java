@@ -0,0 +1,140 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.ImageUploadTask;
+import com.ardkyer.rion.repository.ImageUploadTaskRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+// 업로드 파일을 트랜잭션 밖에서 로컬 디스크에 임시 저장 (S3 업로드는 아웃박스 처리기가 담당)
+@Component
+@Slf4j
+public class ImageStagingService {
+
+    private final Path directory;
+    private final ImageUploadTaskRepository taskRepository;
+
+    // 임시 파일을 가진 인스턴스 식별자. 재시작 후에도 같은 디스크를 쓰도록 기본값은 호스트 이름
+    @Getter
+    private final String instanceId;
+
+    @Getter
+    public static class StagedImage {
+        private final String key;
+        private final Path path;
+        private final String contentType;
+        private final long size;
+        private final Long perceptualHash;  // 디코딩할 수 없는 형식이면 null
+
+        private StagedImage(String key, Path path, String contentType, long size, Long perceptualHash) {
+            this.key = key;
+            this.path = path;
+            this.contentType = contentType;
+            this.size = size;
+            this.perceptualHash = perceptualHash;
+        }
+    }
+
+    public ImageStagingService(@Value("${image.staging.dir:${java.io.tmpdir}/rion-image-staging}") String directory,
+                               @Value("${image.staging.instance-id:}") String instanceId,
+                               ImageUploadTaskRepository taskRepository) {
+        this.directory = Paths.get(directory);
+        this.instanceId = instanceId.isBlank() ? hostName() : instanceId;
+        this.taskRepository = taskRepository;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+    }
+
+    // 임시 저장하면서 SHA-256 을 계산해 내용 주소 키({해시}.{형식})를 만듦. 같은 이미지는 같은 키가 됨
+    // 생성 응답에서 바로 중복 상품을 알려 주도록 dHash 도 트랜잭션 밖에서 임시 파일로 계산
+    public StagedImage stage(MultipartFile file) throws IOException {
+        Path path = directory.resolve(UUID.randomUUID().toString());
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, path);
+        }
+        String key = HexFormat.of().formatHex(digest.digest()) + "." + extensionOf(file.getContentType());
+        return new StagedImage(key, path, file.getContentType(), Files.size(path), perceptualHashOf(path));
+    }
+
+    private Long perceptualHashOf(Path path) {
+        try {
+            BufferedImage image = ImageIO.read(path.toFile());
+            return image == null ? null : PerceptualHash.dHash(image);
+        } catch (IOException e) {
+            // 지문이 없어도 업로드는 진행하고 리사이즈 이미지 생성 때 다시 계산
+            log.warn("Failed to hash staged image {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // 업로드가 끝나기 전에도 이미지를 제공할 수 있도록 이 인스턴스의 대기 중인 업로드 작업에서 임시 파일을 찾음
+    public Optional<Path> find(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        return taskRepository.findFirstByObjectKeyAndStatusAndInstanceId(key, ImageUploadTask.Status.PENDING, instanceId)
+                .map(task -> Paths.get(task.getStagedPath()))
+                .filter(Files::exists);
+    }
+
+    private String extensionOf(String contentType) {
+        if (contentType == null) {
+            return "bin";
+        }
+        try {
+            String subtype = MimeType.valueOf(contentType).getSubtype().toLowerCase().replaceAll("[^a-z0-9]", "");
+            return subtype.isEmpty() ? "bin" : subtype;
+        } catch (InvalidMimeTypeException e) {
+            return "bin";
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot resolve host name; set image.staging.instance-id", e);
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void discard(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged image {}: {}", path, e.getMessage());
+        }
+    }
+}
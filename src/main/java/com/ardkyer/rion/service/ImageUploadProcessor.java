@@ -0,0 +1,136 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.ImageUploadTask;
+import com.ardkyer.rion.entity.Video;
+import com.ardkyer.rion.repository.ImageUploadTaskRepository;
+import com.ardkyer.rion.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// 아웃박스에 기록된 이미지를 S3 로 업로드 (트랜잭션 없이 실행되어 S3 대기 중 DB 커넥션을 잡지 않음)
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImageUploadProcessor {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int BATCH_SIZE = 20;
+    private static final long LEASE_MINUTES = 5;
+    private static final long FENCE_RETRY_SECONDS = 10;
+
+    private final ImageUploadTaskRepository taskRepository;
+    private final VideoRepository videoRepository;
+    private final BlobStore blobStore;
+    private final ImageStagingService imageStagingService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageBlobService imageBlobService;
+    private final ProductCache productCache;
+
+    @Async("imageTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUploadRequested(ImageUploadRequestedEvent event) {
+        process(event.getTaskId());
+    }
+
+    // 즉시 처리에 실패했거나 서버 재시작으로 누락된 작업을 주기적으로 재처리
+    @Scheduled(fixedDelayString = "${image.upload.retry-interval-ms:30000}")
+    public void processDueTasks() {
+        for (Long taskId : taskRepository.findDueTaskIds(imageStagingService.getInstanceId(),
+                LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE))) {
+            process(taskId);
+        }
+    }
+
+    public void process(Long taskId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (taskRepository.claim(taskId, imageStagingService.getInstanceId(), now,
+                now.plusMinutes(LEASE_MINUTES)) == 0) {
+            return;  // 이미 처리 중이거나 완료됐거나 다른 인스턴스의 작업
+        }
+        ImageUploadTask task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+        // 같은 내용의 이전 객체를 삭제 대기열이 지우는 중이면 삭제가 끝난 뒤 올림 (시도 횟수에는 넣지 않음)
+        if (imageBlobService.isDeleteFenced(task.getObjectKey())) {
+            task.setNextAttemptAt(LocalDateTime.now().plusSeconds(FENCE_RETRY_SECONDS));
+            taskRepository.save(task);
+            return;
+        }
+
+        try {
+            upload(task);
+        } catch (Exception e) {
+            recordFailure(task, e);
+            return;
+        }
+        complete(task);
+    }
+
+    private void upload(ImageUploadTask task) throws Exception {
+        Path staged = Paths.get(task.getStagedPath());
+        if (!Files.exists(staged)) {
+            throw new IllegalStateException("Staged file not found: " + staged);
+        }
+
+        // 큰 파일은 파트 단위 병렬 업로드 (파일 전체를 메모리에 올리지 않음)
+        try (InputStream in = Files.newInputStream(staged)) {
+            blobStore.putStream(task.getObjectKey(), in, task.getContentType(), Map.of(), Long.MAX_VALUE);
+        }
+    }
+
+    private void complete(ImageUploadTask task) {
+        task.setStatus(ImageUploadTask.Status.DONE);
+        task.setLastError(null);
+        taskRepository.save(task);
+
+        imageBlobService.markStored(task.getObjectKey());
+        int updated = videoRepository.updateImageStatus(task.getVideoId(), task.getObjectKey(), Video.ImageStatus.READY,
+                LocalDateTime.now());
+        imageStagingService.discard(Paths.get(task.getStagedPath()));
+        productCache.evict(task.getVideoId());
+
+        if (updated == 0) {
+            // 업로드 중 상품이 삭제되었거나 다른 이미지로 교체됨 → 다른 상품도 참조하지 않으면 고아
+            imageBlobService.deleteIfUnreferenced(task.getObjectKey());
+        } else {
+            imageDerivativeService.generateAsync(task.getObjectKey());
+        }
+        imageBlobService.release(task.getReplacedKey());
+    }
+
+    private void recordFailure(ImageUploadTask task, Exception e) {
+        task.setAttempts(task.getAttempts() + 1);
+        task.setLastError(e.getMessage());
+        if (task.getAttempts() >= MAX_ATTEMPTS) {
+            task.setStatus(ImageUploadTask.Status.FAILED);
+            taskRepository.save(task);
+            videoRepository.updateImageStatus(task.getVideoId(), task.getObjectKey(), Video.ImageStatus.FAILED,
+                    LocalDateTime.now());
+            imageStagingService.discard(Paths.get(task.getStagedPath()));
+            productCache.evict(task.getVideoId());
+            log.error("Image upload failed permanently for task {}: {}", task.getId(), e.getMessage());
+            return;
+        }
+
+        // 지수 백오프 (30초, 1분, 2분, ...)
+        long delaySeconds = 30L << (task.getAttempts() - 1);
+        task.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+        taskRepository.save(task);
+        log.warn("Image upload failed for task {} (attempt {}), retrying in {}s: {}",
+                task.getId(), task.getAttempts(), delaySeconds, e.getMessage());
+    }
+}
@@ -0,0 +1,11 @@
+package com.ardkyer.rion.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 아웃박스 작업이 커밋되면 업로드 처리기를 깨우는 이벤트
+@Getter
+@AllArgsConstructor
+public class ImageUploadRequestedEvent {
+    private final Long taskId;
+}
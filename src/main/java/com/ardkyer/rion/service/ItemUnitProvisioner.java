@@ -0,0 +1,65 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.ItemStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 상품 유닛을 JDBC 다중 행 INSERT 로 생성/회수
+// IDENTITY 키는 Hibernate 배치 INSERT 가 꺼지므로 유닛 수만큼 왕복하지 않도록 엔티티를 거치지 않음
+// 호출하는 쪽의 JPA 트랜잭션과 같은 커넥션에서 실행됨
+@Component
+@RequiredArgsConstructor
+public class ItemUnitProvisioner {
+
+    private static final int ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_PREFIX =
+            "INSERT INTO item_units (video_id, status, unit_number, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 기존 마지막 번호 다음부터 count 개의 예약 가능 유닛 추가
+    public int provision(Long videoId, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        Integer lastUnitNumber = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(unit_number), 0) FROM item_units WHERE video_id = ?", Integer.class, videoId);
+        int firstUnitNumber = (lastUnitNumber != null ? lastUnitNumber : 0) + 1;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int inserted = 0;
+        while (inserted < count) {
+            int rows = Math.min(ROWS_PER_STATEMENT, count - inserted);
+            String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(rows, ROW_PLACEHOLDER));
+
+            List<Object> args = new ArrayList<>(rows * 5);
+            for (int i = 0; i < rows; i++) {
+                args.add(videoId);
+                args.add(ItemStatus.AVAILABLE.name());
+                args.add(firstUnitNumber + inserted + i);
+                args.add(now);
+                args.add(now);
+            }
+            inserted += jdbcTemplate.update(sql, args.toArray());
+        }
+        return inserted;
+    }
+
+    // 번호가 큰 예약 가능 유닛부터 최대 count 개 삭제 (예약/사용 중인 유닛은 건드리지 않음)
+    public int retire(Long videoId, int count) {
+        if (count <= 0) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "DELETE FROM item_units WHERE video_id = ? AND status = ? ORDER BY unit_number DESC LIMIT ?",
+                videoId, ItemStatus.AVAILABLE.name(), count);
+    }
+}
@@ -3,15 +3,23 @@ package com.ardkyer.rion.service;
 import com.ardkyer.rion.entity.ItemStatus;
 import com.ardkyer.rion.entity.ItemUnit;
 import com.ardkyer.rion.entity.User;
-import com.ardkyer.rion.entity.Video;
 import com.ardkyer.rion.repository.ItemUnitRepository;
 import com.ardkyer.rion.repository.VideoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Service
+@Slf4j
 public class ItemUnitService {
 
     @Autowired
@@ -23,6 +31,9 @@ public class ItemUnitService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ProductCache productCache;
+
     @Transactional
     public void updateUnitStatus(Long unitId, ItemStatus status, Authentication authentication) {
         ItemUnit unit = itemUnitRepository.findById(unitId)
@@ -35,12 +46,71 @@ public class ItemUnitService {
             throw new IllegalStateException("권한이 없습니다.");
         }
 
-        unit.setStatus(status);
-        itemUnitRepository.save(unit);
+        // 예약에 연결된 유닛은 예약 상태 변경(대여 시작, 반납, 취소)으로만 바뀜
+        if (unit.getReservation() != null) {
+            throw new IllegalStateException("예약에 연결된 유닛은 변경할 수 없습니다.");
+        }
+
+        ItemStatus previous = unit.getStatus();
+        if (previous == status) {
+            return;
+        }
+        // 읽은 상태를 조건으로 한 문장으로 변경하고, 상품의 유닛 수와 상태는 유닛 테이블에서 다시 계산
+        // (엔티티의 카운터를 고쳐 저장하면 동시에 바뀐 다른 유닛의 반영분을 덮어씀)
+        LocalDateTime now = LocalDateTime.now();
+        if (itemUnitRepository.transitionById(unitId, previous, status, now) == 0) {
+            throw new IllegalStateException("유닛 상태가 이미 변경되었습니다. 다시 시도해 주세요.");
+        }
+        Long videoId = unit.getVideo().getId();
+        videoRepository.refreshUnitDerivedState(videoId, now);
+        productCache.evict(videoId);
+    }
+
+    // 상품의 모든 유닛(unitIds 가 비어 있으면) 또는 지정한 유닛을 한 번에 변경하고 변경된 유닛 수를 반환
+    @Transactional
+    public int updateUnitsStatus(Long videoId, Collection<Long> unitIds, ItemStatus status, Authentication authentication) {
+        Long ownerId = videoRepository.findOwnerIdById(videoId)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        User currentUser = userService.findByUsername(authentication.getName());
+
+        // 작성자 권한 체크
+        if (!ownerId.equals(currentUser.getId())) {
+            throw new IllegalStateException("권한이 없습니다.");
+        }
+        return transitionUnits(videoId, unitIds, status);
+    }
+
+    // 이미 목표 상태인 유닛은 조건절에서 제외하고, 바뀐 유닛이 있을 때만 상품 상태를 다시 계산
+    // 예약에 연결된 유닛은 바꾸지 않음 (직접 지정하면 거부, 전체 변경이면 건너뜀)
+    @Transactional
+    public int transitionUnits(Long videoId, Collection<Long> unitIds, ItemStatus status) {
+        Set<ItemStatus> from = EnumSet.complementOf(EnumSet.of(status));
+        LocalDateTime now = LocalDateTime.now();
+        int updated;
+        if (unitIds == null || unitIds.isEmpty()) {
+            updated = itemUnitRepository.transitionAllByVideo(videoId, from, status, now);
+        } else {
+            if (itemUnitRepository.countReservedByIds(videoId, unitIds) > 0) {
+                throw new IllegalStateException("예약에 연결된 유닛은 일괄 변경할 수 없습니다.");
+            }
+            updated = itemUnitRepository.transitionByIds(videoId, unitIds, from, status, now);
+        }
+        if (updated == 0) {
+            return 0;
+        }
+
+        videoRepository.refreshUnitDerivedState(videoId, now);
+        productCache.evict(videoId);
+        return updated;
+    }
 
-        // 비디오의 전체 상태도 업데이트
-        Video video = unit.getVideo();
-        video.updateReservationStatus();
-        videoRepository.save(video);
+    // 시작 시 상태별 유닛 수를 유닛 테이블과 맞춤 (컬럼 추가 전 데이터는 0 으로 채워져 있음)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconcileUnitCounts() {
+        int updated = videoRepository.reconcileUnitCounts();
+        if (updated > 0) {
+            log.info("Reconciled unit counters for {} products", updated);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,293 @@
+package com.ardkyer.rion.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// 로컬 파일시스템 저장소 (AWS 없이 개발/온프레미스/부하 테스트용)
+// {dir}/data/{key} 에 본문, {dir}/meta/{key} 에 Content-Type 과 사용자 메타데이터를 저장
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+    private static final String TEMP_PREFIX = ".tmp-";
+    private static final String CONTENT_TYPE = "contentType";
+    private static final String USER_METADATA_PREFIX = "user.";
+
+    private final Path dataDirectory;
+    private final Path metaDirectory;
+    private final long mmapThreshold;
+    private final String publicBaseUrl;
+
+    public LocalBlobStore(@Value("${storage.local.dir:${java.io.tmpdir}/rion-blobs}") String directory,
+                          @Value("${storage.local.mmap-threshold-bytes:1048576}") long mmapThreshold,
+                          @Value("${storage.local.public-base-url:/blobs}") String publicBaseUrl) {
+        this.dataDirectory = Paths.get(directory, "data").toAbsolutePath().normalize();
+        this.metaDirectory = Paths.get(directory, "meta").toAbsolutePath().normalize();
+        this.mmapThreshold = mmapThreshold;
+        this.publicBaseUrl = publicBaseUrl;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(dataDirectory);
+        Files.createDirectories(metaDirectory);
+    }
+
+    public Path getDataDirectory() {
+        return dataDirectory;
+    }
+
+    @Override
+    public void put(String key, InputStream in, long contentLength, String contentType) throws IOException {
+        putStream(key, in, contentType, Map.of(), Long.MAX_VALUE);
+    }
+
+    @Override
+    public long putStream(String key, InputStream in, String contentType,
+                          Map<String, String> userMetadata, long maxBytes) throws IOException {
+        Path target = resolve(dataDirectory, key);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(TEMP_PREFIX + UUID.randomUUID());
+
+        long written = 0;
+        try {
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long transferred;
+                // 블로킹 스트림 채널은 EOF 에서만 0 을 반환
+                while ((transferred = channel.transferFrom(source, written, TRANSFER_CHUNK)) > 0) {
+                    written += transferred;
+                    if (written > maxBytes) {
+                        throw new IllegalArgumentException("Uploaded image is too large");
+                    }
+                }
+            }
+            writeMetadata(key, contentType, userMetadata);
+            move(temp, target);
+            return written;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 작은 파일은 메모리 매핑으로 한 번에 쓰고, 큰 파일은 transferTo 로 커널 복사
+    @Override
+    public BlobInfo copyTo(String key, Path target) throws IOException {
+        BlobInfo info = stat(key).orElseThrow(() -> new BlobNotFoundException(key));
+        Path source = resolve(dataDirectory, key);
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            if (size <= mmapThreshold) {
+                MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            } else {
+                long copied = 0;
+                while (copied < size) {
+                    copied += in.transferTo(copied, size - copied, out);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            throw new BlobNotFoundException(key);
+        }
+        return info;
+    }
+
+    // 메타데이터를 먼저 복사한 뒤 데이터 파일을 원자적으로 옮겨 put 과 같은 순서로 보이게 함
+    @Override
+    public void copy(String sourceKey, String targetKey) throws IOException {
+        Path source = resolve(dataDirectory, sourceKey);
+        if (!Files.exists(source)) {
+            throw new BlobNotFoundException(sourceKey);
+        }
+        Path sourceMeta = resolve(metaDirectory, sourceKey);
+        if (Files.exists(sourceMeta)) {
+            copyFile(sourceMeta, resolve(metaDirectory, targetKey));
+        }
+        try {
+            copyFile(source, resolve(dataDirectory, targetKey));
+        } catch (NoSuchFileException e) {
+            throw new BlobNotFoundException(sourceKey);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) {
+        Path path = resolve(dataDirectory, key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            Properties metadata = readMetadata(key);
+
+            Map<String, String> userMetadata = new HashMap<>();
+            for (String name : metadata.stringPropertyNames()) {
+                if (name.startsWith(USER_METADATA_PREFIX)) {
+                    userMetadata.put(name.substring(USER_METADATA_PREFIX.length()), metadata.getProperty(name));
+                }
+            }
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            return Optional.of(new BlobInfo(key, size, metadata.getProperty(CONTENT_TYPE),
+                    Long.toHexString(size) + "-" + Long.toHexString(modified),
+                    Instant.ofEpochMilli(modified), userMetadata));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read blob " + key, e);
+        }
+    }
+
+    @Override
+    public Map<String, String> deleteAll(Collection<String> keys) {
+        Map<String, String> failures = new HashMap<>();
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(dataDirectory, key));
+                Files.deleteIfExists(resolve(metaDirectory, key));
+            } catch (IOException | IllegalArgumentException e) {
+                failures.put(key, e.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public void forEachPage(Consumer<List<BlobInfo>> consumer) {
+        try (Stream<Path> paths = Files.walk(dataDirectory)) {
+            List<BlobInfo> page = new ArrayList<>(PAGE_SIZE);
+            paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith(TEMP_PREFIX))
+                    .forEach(path -> {
+                        stat(toKey(path)).ifPresent(page::add);
+                        if (page.size() == PAGE_SIZE) {
+                            consumer.accept(List.copyOf(page));
+                            page.clear();
+                        }
+                    });
+            if (!page.isEmpty()) {
+                consumer.accept(page);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list blobs", e);
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBaseUrl + "/" + key;
+    }
+
+    @Override
+    public boolean supportsPresignedUrls() {
+        return false;
+    }
+
+    @Override
+    public URL presignPut(String key, String contentType, Map<String, String> userMetadata, Instant expiresAt) {
+        throw new UnsupportedOperationException("Pre-signed URLs are not supported by local storage");
+    }
+
+    @Override
+    public URL presignGet(String key, Instant expiresAt) {
+        throw new UnsupportedOperationException("Pre-signed URLs are not supported by local storage");
+    }
+
+    private void writeMetadata(String key, String contentType, Map<String, String> userMetadata) throws IOException {
+        Properties metadata = new Properties();
+        if (contentType != null) {
+            metadata.setProperty(CONTENT_TYPE, contentType);
+        }
+        userMetadata.forEach((name, value) -> metadata.setProperty(USER_METADATA_PREFIX + name, value));
+
+        Path target = resolve(metaDirectory, key);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(TEMP_PREFIX + UUID.randomUUID());
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                metadata.store(out, null);
+            }
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Properties readMetadata(String key) throws IOException {
+        Properties metadata = new Properties();
+        Path path = resolve(metaDirectory, key);
+        if (Files.exists(path)) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                metadata.load(reader);
+            }
+        }
+        return metadata;
+    }
+
+    private void copyFile(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(TEMP_PREFIX + UUID.randomUUID());
+        try {
+            Files.copy(source, temp);
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // 키에 ../ 등이 있어 저장소 밖을 가리키면 거부
+    private Path resolve(Path base, String key) {
+        Path path = base.resolve(key).normalize();
+        if (!path.startsWith(base) || path.equals(base)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+
+    private String toKey(Path path) {
+        return dataDirectory.relativize(path).toString().replace('\\', '/');
+    }
+}
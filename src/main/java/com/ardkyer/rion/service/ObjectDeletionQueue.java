@@ -0,0 +1,166 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.ImageBlob;
+import com.ardkyer.rion.entity.ObjectDeletion;
+import com.ardkyer.rion.repository.ImageBlobRepository;
+import com.ardkyer.rion.repository.ObjectDeletionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// S3 객체 삭제를 요청 경로에서 떼어내 DB 대기열에 기록하고, 주기적으로 최대 1000개씩 DeleteObjects 로 삭제
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ObjectDeletionQueue {
+
+    private static final int MAX_BATCH_SIZE = 1000;  // DeleteObjects 요청당 최대 키 수
+    private static final int MAX_BACKOFF_SHIFT = 7;  // 최대 약 1시간
+    // 저장소 삭제 중 펜스 유지 시간. 배치가 결과를 반영하지 못하고 중단돼도 이 시간이 지나면 업로드와 재삭제가 가능
+    private static final Duration FENCE_DURATION = Duration.ofMinutes(5);
+
+    private final ObjectDeletionRepository deletionRepository;
+    private final ImageBlobRepository imageBlobRepository;
+    private final BlobStore blobStore;
+    private final ImageDiskCache imageDiskCache;
+    private final PlatformTransactionManager transactionManager;
+
+    // 호출한 트랜잭션에 참여하므로 DB 변경이 롤백되면 삭제 요청도 함께 취소됨
+    @Transactional
+    public void enqueue(String key) {
+        if (key != null && !key.isEmpty()) {
+            deletionRepository.save(new ObjectDeletion(key));
+        }
+    }
+
+    @Transactional
+    public void enqueueAll(Collection<String> keys) {
+        List<ObjectDeletion> deletions = keys.stream()
+                .filter(key -> key != null && !key.isEmpty())
+                .map(ObjectDeletion::new)
+                .toList();
+        deletionRepository.saveAll(deletions);
+    }
+
+    // 원본과 리사이즈 이미지를 함께 삭제 요청
+    @Transactional
+    public void enqueueImage(String originalKey) {
+        if (originalKey == null || originalKey.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(ImageSize.allKeysFor(originalKey));
+        keys.add(originalKey);
+        enqueueAll(keys);
+    }
+
+    // 여러 인스턴스가 같은 항목을 동시에 처리해도 S3 삭제는 멱등이므로 대기열 항목은 선점하지 않음
+    @Scheduled(fixedDelayString = "${storage.deletion.drain-interval-ms:10000}")
+    public void drain() {
+        while (true) {
+            List<ObjectDeletion> due = deletionRepository.findDue(LocalDateTime.now(), PageRequest.of(0, MAX_BATCH_SIZE));
+            if (due.isEmpty()) {
+                return;
+            }
+            deleteBatch(due);
+            if (due.size() < MAX_BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private void deleteBatch(List<ObjectDeletion> batch) {
+        Map<String, List<ObjectDeletion>> byKey = new HashMap<>();
+        batch.forEach(deletion -> byKey.computeIfAbsent(deletion.getObjectKey(), key -> new ArrayList<>()).add(deletion));
+        Map<String, String> originals = new HashMap<>();
+        byKey.keySet().forEach(key -> originals.put(key, ImageSize.originalKeyOf(key).orElse(key)));
+        Set<String> originalKeys = new HashSet<>(originals.values());
+        String fence = UUID.randomUUID().toString();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // 1) 짧은 트랜잭션에서 삭제 대기 행에 이 배치의 펜스를 세우고 지울 키를 정함 (행 잠금은 이 UPDATE 동안만 유지)
+        //    다시 참조된 이미지는 지우지 않고, 다른 배치가 지우는 중인 이미지는 이번에는 건너뜀
+        Set<String> referenced = new HashSet<>();
+        Set<String> fenced = new HashSet<>();
+        Set<String> busy = new HashSet<>();
+        transaction.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            imageBlobRepository.fencePending(originalKeys, fence, now.plus(FENCE_DURATION), now);
+            for (ImageBlob blob : imageBlobRepository.findAllById(originalKeys)) {
+                if (!blob.isPendingDelete()) {
+                    referenced.add(blob.getObjectKey());
+                } else if (fence.equals(blob.getDeleteFence())) {
+                    fenced.add(blob.getObjectKey());
+                } else {
+                    busy.add(blob.getObjectKey());
+                }
+            }
+        });
+
+        // 2) 저장소 삭제는 트랜잭션 밖에서 실행 (S3 응답을 기다리는 동안 DB 잠금과 커넥션을 잡지 않음)
+        //    참조 수 행이 없는 키(이전 형식)와 이 배치가 펜스를 세운 키만 지움
+        List<String> keysToDelete = byKey.keySet().stream()
+                .filter(key -> !referenced.contains(originals.get(key)) && !busy.contains(originals.get(key)))
+                .toList();
+        Map<String, String> failures = keysToDelete.isEmpty() ? Map.of() : blobStore.deleteAll(keysToDelete);
+
+        // 3) 짧은 트랜잭션에서 결과 반영. 펜스 중 다시 참조된 행은 삭제 대기가 아니므로 남고, 펜스만 풀려 업로드가 이어짐
+        transaction.executeWithoutResult(status -> {
+            List<ObjectDeletion> done = new ArrayList<>();
+            List<ObjectDeletion> retry = new ArrayList<>();
+            List<String> deletedOriginals = new ArrayList<>();
+            byKey.forEach((key, deletions) -> {
+                if (referenced.contains(originals.get(key))) {
+                    done.addAll(deletions);
+                } else if (busy.contains(originals.get(key))) {
+                    return;  // 대기열에 그대로 두어 그 배치가 끝나거나 펜스가 풀린 뒤 다시 처리
+                } else if (failures.containsKey(key)) {
+                    deletions.forEach(deletion -> scheduleRetry(deletion, failures.get(key)));
+                    retry.addAll(deletions);
+                } else {
+                    imageDiskCache.evict(key);
+                    done.addAll(deletions);
+                    if (fenced.contains(key)) {
+                        deletedOriginals.add(key);
+                    }
+                }
+            });
+
+            // 원본까지 지운 이미지의 삭제 대기 행 제거
+            if (!deletedOriginals.isEmpty()) {
+                imageBlobRepository.deleteFenced(deletedOriginals, fence);
+            }
+            if (!fenced.isEmpty()) {
+                imageBlobRepository.clearFence(fenced, fence);
+            }
+            deletionRepository.deleteAllInBatch(done);
+            deletionRepository.saveAll(retry);
+            if (!retry.isEmpty()) {
+                log.warn("Failed to delete {} of {} objects from S3, will retry", retry.size(), batch.size());
+            }
+        });
+    }
+
+    private void scheduleRetry(ObjectDeletion deletion, String error) {
+        deletion.setAttempts(deletion.getAttempts() + 1);
+        deletion.setLastError(error);
+        // 지수 백오프 (30초, 1분, 2분, ... 최대 약 1시간)
+        long delaySeconds = 30L << Math.min(deletion.getAttempts() - 1, MAX_BACKOFF_SHIFT);
+        deletion.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+    }
+}
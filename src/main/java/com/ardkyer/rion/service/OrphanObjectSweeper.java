@@ -0,0 +1,110 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.repository.ObjectDeletionRepository;
+import com.ardkyer.rion.repository.UserRepository;
+import com.ardkyer.rion.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// 저장소 키 목록과 videos.video_url / user.avatar_url 을 비교해 참조되지 않는 객체를 삭제 대기열에 넣음
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrphanObjectSweeper {
+
+    // 이 애플리케이션이 만드는 키만 대상 (UUID_파일명, {sha256}.{형식}, derived/{size}/..., avatars/UUID_파일명, uploads/UUID_파일명)
+    private static final Pattern OWNED_KEY = Pattern.compile(
+            "^(avatars/|uploads/)?[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+|^[0-9a-f]{64}\\.[a-z0-9]+$");
+    private static final String AVATAR_PREFIX = "avatars/";
+
+    private final BlobStore blobStore;
+    private final VideoRepository videoRepository;
+    private final UserRepository userRepository;
+    private final ObjectDeletionRepository deletionRepository;
+    private final ObjectDeletionQueue objectDeletionQueue;
+
+    @Value("${storage.orphan-sweep.enabled:false}")
+    private boolean enabled;
+
+    // 업로드 직후 아직 DB 에 연결되지 않은 객체(pre-signed 업로드 확인 전 등)를 지우지 않도록 유예
+    @Value("${storage.orphan-sweep.min-age-hours:24}")
+    private long minAgeHours;
+
+    @Scheduled(fixedDelayString = "${storage.orphan-sweep.interval-ms:21600000}",
+            initialDelayString = "${storage.orphan-sweep.initial-delay-ms:600000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofHours(minAgeHours));
+        int[] counts = new int[2];  // 조회한 객체 수, 삭제 대기열에 넣은 수
+
+        blobStore.forEachPage(page -> {
+            List<String> candidates = new ArrayList<>();
+            for (BlobStore.BlobInfo blob : page) {
+                if (blob.getLastModified().isBefore(cutoff) && isOwnedKey(blob.getKey())) {
+                    candidates.add(blob.getKey());
+                }
+            }
+            counts[0] += page.size();
+            counts[1] += reclaim(candidates);
+        });
+
+        log.info("Orphan sweep finished: scanned {} objects, queued {} for deletion", counts[0], counts[1]);
+    }
+
+    private boolean isOwnedKey(String key) {
+        return OWNED_KEY.matcher(ImageSize.originalKeyOf(key).orElse(key)).matches();
+    }
+
+    // 한 페이지(최대 1000개) 단위로 참조 여부를 조회
+    private int reclaim(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        // 리사이즈 이미지는 원본 키로, 아바타는 저장된 URL 형식으로 비교
+        Map<String, String> productKeys = new HashMap<>();
+        Map<String, String> avatarUrls = new HashMap<>();
+        for (String key : keys) {
+            if (key.startsWith(AVATAR_PREFIX)) {
+                avatarUrls.put(key, blobStore.publicUrl(key));
+            } else {
+                productKeys.put(key, ImageSize.originalKeyOf(key).orElse(key));
+            }
+        }
+
+        Set<String> referencedImages = productKeys.isEmpty()
+                ? Set.of() : videoRepository.findImageUrlsIn(productKeys.values());
+        Set<String> referencedAvatars = avatarUrls.isEmpty()
+                ? Set.of() : userRepository.findAvatarUrlsIn(avatarUrls.values());
+        Set<String> alreadyQueued = deletionRepository.findQueuedKeys(keys);
+
+        List<String> orphans = new ArrayList<>();
+        productKeys.forEach((key, original) -> {
+            if (!referencedImages.contains(original) && !alreadyQueued.contains(key)) {
+                orphans.add(key);
+            }
+        });
+        avatarUrls.forEach((key, url) -> {
+            if (!referencedAvatars.contains(url) && !alreadyQueued.contains(key)) {
+                orphans.add(key);
+            }
+        });
+
+        objectDeletionQueue.enqueueAll(orphans);
+        return orphans.size();
+    }
+}
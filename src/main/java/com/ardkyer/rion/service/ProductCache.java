@@ -0,0 +1,67 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.dto.ProductSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// 상품 상세 스냅샷 캐시 (용량 기준 제한, 쓰기 경로에서 커밋 후 무효화)
+@Component
+public class ProductCache {
+
+    private final Cache<Long, ProductSnapshot> cache;
+
+    public ProductCache(@Value("${product.cache.max-bytes:16777216}") long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, ProductSnapshot snapshot) -> snapshot.estimateSizeInBytes())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<ProductSnapshot> get(Long id, Function<Long, ProductSnapshot> loader) {
+        // loader 가 null 을 반환하면 캐시에 저장되지 않음
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋 이후에 무효화하여 커밋 전 값이 다시 캐시되는 것을 막음
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("hits", stats.hitCount());
+        metrics.put("misses", stats.missCount());
+        metrics.put("hitRate", stats.hitRate());
+        metrics.put("evictions", stats.evictionCount());
+        metrics.put("evictionWeight", stats.evictionWeight());
+        metrics.put("entries", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            metrics.put("weightedSizeBytes", eviction.weightedSize().orElse(0L));
+            metrics.put("maxSizeBytes", eviction.getMaximum());
+        });
+        return metrics;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.Video;
+import com.ardkyer.rion.repository.VideoRepository;
+import com.ardkyer.rion.repository.VideoRepository.VideoExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// 전체 상품 목록을 메모리에 모으지 않고 DB 스트림에서 바로 응답으로 흘려보내는 내보내기 서비스
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final String CSV_HEADER =
+            "id,title,owner_id,owner_username,total_quantity,available_quantity,reservation_status,hashtags,image_url,created_at\n";
+
+    private final VideoRepository videoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public enum Format {
+        CSV("text/csv"),
+        JSONL("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    @Getter
+    public static class ExportRecord {
+        private final Long id;
+        private final String title;
+        private final Long ownerId;
+        private final String ownerUsername;
+        private final Integer totalQuantity;
+        private final Integer availableQuantity;
+        private final Video.ReservationStatus reservationStatus;
+        private final Set<String> hashtags = new LinkedHashSet<>();
+        private final String imageUrl;
+        private final LocalDateTime createdAt;
+
+        private ExportRecord(VideoExportRow row) {
+            this.id = row.getId();
+            this.title = row.getTitle();
+            this.ownerId = row.getOwnerId();
+            this.ownerUsername = row.getOwnerUsername();
+            this.totalQuantity = row.getTotalQuantity();
+            this.availableQuantity = row.getAvailableQuantity();
+            this.reservationStatus = row.getReservationStatus();
+            this.imageUrl = row.getImageUrl();
+            this.createdAt = row.getCreatedAt();
+        }
+    }
+
+    public void export(Format format, OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            int count = 0;
+            try (Stream<VideoExportRow> rows = videoRepository.streamExportRows()) {
+                if (format == Format.CSV) {
+                    writer.write(CSV_HEADER);
+                }
+
+                // 해시태그 조인으로 상품 하나가 여러 행이 되므로 id 가 바뀔 때마다 한 건씩 기록
+                ExportRecord current = null;
+                Iterator<VideoExportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    VideoExportRow row = iterator.next();
+                    if (current == null || !current.getId().equals(row.getId())) {
+                        if (current != null) {
+                            write(format, current, writer);
+                            if (++count % FLUSH_INTERVAL == 0) {
+                                writer.flush();
+                                entityManager.clear();
+                            }
+                        }
+                        current = new ExportRecord(row);
+                    }
+                    if (row.getHashtag() != null) {
+                        current.getHashtags().add(row.getHashtag());
+                    }
+                }
+                if (current != null) {
+                    write(format, current, writer);
+                    count++;
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            log.info("Exported {} products as {}", count, format);
+        });
+    }
+
+    private void write(Format format, ExportRecord record, Writer writer) throws IOException {
+        if (format == Format.JSONL) {
+            writer.write(objectMapper.writeValueAsString(record));
+            writer.write('\n');
+            return;
+        }
+
+        writer.write(String.join(",",
+                String.valueOf(record.getId()),
+                csv(record.getTitle()),
+                String.valueOf(record.getOwnerId()),
+                csv(record.getOwnerUsername()),
+                String.valueOf(record.getTotalQuantity()),
+                String.valueOf(record.getAvailableQuantity()),
+                record.getReservationStatus() == null ? "" : record.getReservationStatus().name(),
+                csv(String.join(" ", record.getHashtags())),
+                csv(record.getImageUrl()),
+                record.getCreatedAt() == null ? "" : record.getCreatedAt().toString()));
+        writer.write('\n');
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,138 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.service.ImageDiskCache.CachedImage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+// 상품 이미지 조회 (디스크 캐시 우선, 미스 시 저장소). DB 트랜잭션 밖에서 동작하도록 VideoServiceImpl 과 분리
+@Service
+public class ProductImageService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Tomcat 은 서블릿이 반환된 직후 파일을 열므로 그 뒤로는 퇴출로 지워져도 전송이 계속됨. 여유 있게 고정 유지
+    private static final Duration SENDFILE_PIN_GRACE = Duration.ofSeconds(30);
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+
+    private final BlobStore blobStore;
+    private final ImageDiskCache imageDiskCache;
+    private final ImageStagingService imageStagingService;
+    private final TaskScheduler taskScheduler;
+
+    // 아직 생성되지 않은 리사이즈 이미지 키. 생성 전 반복 요청마다 저장소에 조회하지 않도록 잠시 기억
+    private final Cache<String, Boolean> missingVariants;
+
+    public ProductImageService(BlobStore blobStore,
+                               ImageDiskCache imageDiskCache,
+                               ImageStagingService imageStagingService,
+                               TaskScheduler taskScheduler,
+                               @Value("${image.variant.miss-cache-seconds:30}") long missCacheSeconds) {
+        this.blobStore = blobStore;
+        this.imageDiskCache = imageDiskCache;
+        this.imageStagingService = imageStagingService;
+        this.taskScheduler = taskScheduler;
+        this.missingVariants = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(missCacheSeconds))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    // 반환된 이미지 파일은 release 전까지 캐시 퇴출로 지워지지 않음
+    public CachedImage getImage(String fileName) throws IOException {
+        return imageDiskCache.get(fileName, (key, target) -> {
+            // 아직 S3 업로드 전이면 임시 저장본에서 제공
+            Optional<Path> staged = imageStagingService.find(key);
+            if (staged.isPresent()) {
+                Files.copy(staged.get(), target, StandardCopyOption.REPLACE_EXISTING);
+                return new ImageDiskCache.Metadata(Files.probeContentType(staged.get()), null);
+            }
+            BlobStore.BlobInfo blob = blobStore.copyTo(key, target);
+            return new ImageDiskCache.Metadata(blob.getContentType(), blob.getETag());
+        });
+    }
+
+    // 리사이즈 이미지가 아직 생성되지 않았으면 empty
+    public Optional<CachedImage> getVariant(String fileName, ImageSize size) throws IOException {
+        String variantKey = size.keyFor(fileName);
+        if (missingVariants.getIfPresent(variantKey) != null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(getImage(variantKey));
+        } catch (BlobStore.BlobNotFoundException e) {
+            missingVariants.put(variantKey, Boolean.TRUE);
+            return Optional.empty();
+        }
+    }
+
+    // 리사이즈 이미지를 만든 인스턴스에서는 바로 제공되도록 미스 기록 삭제 (다른 인스턴스는 만료 후 반영)
+    public void variantsCreated(String fileName) {
+        for (ImageSize size : ImageSize.values()) {
+            missingVariants.invalidate(size.keyFor(fileName));
+        }
+    }
+
+    // 저장소를 조회하지 않고 디스크 캐시에 이미 있는 이미지만 고정해서 반환 (리사이즈 이미지는 해당 규격만)
+    public Optional<CachedImage> findCached(String fileName, Optional<ImageSize> size) {
+        String key = size.map(value -> value.keyFor(fileName)).orElse(fileName);
+        return Optional.ofNullable(imageDiskCache.getIfPresent(key));
+    }
+
+    public void release(CachedImage image) {
+        imageDiskCache.release(image);
+    }
+
+    public boolean isSendfileSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT));
+    }
+
+    // Tomcat sendfile 로 전송 (커널이 파일을 소켓으로 직접 복사하고, 소켓이 찰 때는 poller 가 이어서 전송하므로
+    // 느린 클라이언트도 요청 스레드를 잡지 않음). 고정은 Tomcat 이 파일을 연 뒤에 풀리도록 잠시 뒤 해제
+    public void sendFile(CachedImage image, long start, long length, HttpServletRequest request) {
+        request.setAttribute(SENDFILE_FILENAME, image.getPath().toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, start + length);  // end 는 exclusive
+        taskScheduler.schedule(() -> release(image), Instant.now().plus(SENDFILE_PIN_GRACE));
+    }
+
+    // 고정된 동안 파일을 열어 둠. 열린 파일은 이후 퇴출로 지워져도 끝까지 읽을 수 있으므로 호출 후 바로 release 가능
+    public FileChannel open(CachedImage image) throws IOException {
+        return FileChannel.open(image.getPath(), StandardOpenOption.READ);
+    }
+
+    // sendfile 을 쓸 수 없을 때의 전송 (사용자 공간 복사 1회). 호출 스레드는 클라이언트가 받는 속도에 맞춰 기다리므로 요청 스레드가 아닌 곳에서 호출
+    public void writeRange(FileChannel channel, long start, long length, OutputStream out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(STREAM_CHUNK_SIZE, Math.max(1, length)));
+        long position = start;
+        long end = start + length;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Cached image is shorter than expected");
+            }
+            out.write(buffer.array(), 0, read);
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+// 예약 트랜잭션이 커밋된 뒤 상품 행의 유닛 수, 예약 가능 수량, 예약 상태를 유닛 테이블에서 다시 계산
+// 상품 행 배타 잠금은 이 짧은 UPDATE 동안만 잡히므로 같은 상품의 예약 트랜잭션끼리 줄을 서지 않음
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductUnitCounterRefresher {
+
+    private final VideoRepository videoRepository;
+    private final ProductCache productCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onUnitsChanged(ProductUnitsChangedEvent event) {
+        try {
+            videoRepository.refreshUnitDerivedState(event.getVideoId(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // 예약은 이미 커밋됨. 카운터는 다음 변경이나 시작 시 reconcileUnitCounts 에서 맞춰짐
+            log.warn("Failed to refresh unit counters for product {}", event.getVideoId(), e);
+        }
+        productCache.evict(event.getVideoId());
+    }
+}
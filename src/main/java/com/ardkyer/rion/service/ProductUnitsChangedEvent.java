@@ -0,0 +1,11 @@
+package com.ardkyer.rion.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 상품의 유닛이 예약에 연결되거나 풀려 상품 행의 유닛 수를 다시 계산해야 할 때 발행 (커밋 후 처리)
+@Getter
+@AllArgsConstructor
+public class ProductUnitsChangedEvent {
+    private final Long videoId;
+}
@@ -7,13 +7,23 @@ import com.ardkyer.rion.entity.Reservation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ReservationService {
     // 예약 생성
     Reservation reserve(Video video, User user, int quantity);
 
+    // 대여 기간을 지정한 예약 생성 (기간이 겹치는 예약과 합쳐 전체 수량을 넘으면 거부)
+    Reservation reserve(Video video, User user, int quantity, LocalDateTime rentalStartDate, LocalDateTime rentalEndDate);
+
+    // [start, end) 기간에 예약 가능한 수량 (상품 하나 / 목록 페이지의 여러 상품)
+    int getAvailableQuantity(Long videoId, LocalDateTime start, LocalDateTime end);
+    Map<Long, Integer> getAvailableQuantities(Collection<Long> videoIds, LocalDateTime start, LocalDateTime end);
+
     // 예약 취소
     void cancelReservation(Long reservationId);
 
@@ -1,50 +1,118 @@
 package com.ardkyer.rion.service;
 
+import com.ardkyer.rion.entity.ItemStatus;
 import com.ardkyer.rion.entity.Video;
 import com.ardkyer.rion.entity.User;
 import com.ardkyer.rion.entity.Reservation;
+import com.ardkyer.rion.repository.ItemUnitRepository;
 import com.ardkyer.rion.repository.ReservationRepository;
 import com.ardkyer.rion.repository.VideoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ReservationServiceImpl implements ReservationService {
 
+    // 취소할 수 있는 예약 상태 (Reservation.isActive 와 같음)
+    private static final Set<Reservation.ReservationStatus> ACTIVE_STATUSES =
+            EnumSet.of(Reservation.ReservationStatus.PENDING, Reservation.ReservationStatus.CONFIRMED);
+
+    // 대여 기간을 점유하는 예약 상태 (대여 중인 예약도 반납 전까지 기간을 차지함)
+    private static final Set<Reservation.ReservationStatus> PERIOD_STATUSES =
+            EnumSet.of(Reservation.ReservationStatus.PENDING, Reservation.ReservationStatus.CONFIRMED,
+                    Reservation.ReservationStatus.COMPLETED);
+
     @Autowired
     private ReservationRepository reservationRepository;
 
     @Autowired
     private VideoRepository videoRepository;
 
+    @Autowired
+    private ItemUnitRepository itemUnitRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public Reservation reserve(Video video, User user, int quantity) {
-        if (video.getAvailableQuantity() < quantity) {
-            throw new IllegalStateException("재고가 부족합니다.");
+        return reserve(video, user, quantity, null, null);
+    }
+
+    @Override
+    @Transactional
+    public Reservation reserve(Video video, User user, int quantity,
+                               LocalDateTime rentalStartDate, LocalDateTime rentalEndDate) {
+        boolean hasPeriod = rentalStartDate != null || rentalEndDate != null;
+        if (hasPeriod) {
+            validatePeriod(rentalStartDate, rentalEndDate);
+            if (rentalStartDate.isBefore(LocalDateTime.now())) {
+                throw new IllegalArgumentException("대여 시작일이 지났습니다.");
+            }
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("예약 수량이 올바르지 않습니다.");
         }
 
-        // 새 예약 생성
         Reservation reservation = new Reservation();
         reservation.setVideo(video);
         reservation.setUser(user);
         reservation.setQuantity(quantity);
         reservation.setStatus(Reservation.ReservationStatus.PENDING);
+        reservation.setRentalStartDate(rentalStartDate);
+        reservation.setRentalEndDate(rentalEndDate);
+
+        if (hasPeriod) {
+            // 기간 예약은 현재 재고를 건드리지 않고 기간이 겹치는 예약 수량 합계로 판단 (유닛은 대여 시작 시 연결)
+            // 기간 없는 예약이 잡고 있는 유닛은 반납 전까지 모든 기간을 점유하므로 함께 뺌 (대여 시작 시 유닛 부족 방지)
+            // 상품 행을 커밋까지 배타 잠금해 같은 상품의 겹침 확인과 INSERT 가 순서대로 실행되게 함
+            int total = videoRepository.lockTotalQuantity(video.getId())
+                    .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다."));
+            long booked = reservationRepository.sumOverlappingQuantity(video.getId(), PERIOD_STATUSES,
+                    rentalStartDate, rentalEndDate);
+            long held = itemUnitRepository.countHeldByUndatedReservations(video.getId());
+            if (total - booked - held < quantity) {
+                throw new IllegalArgumentException("해당 기간에 예약 가능한 수량이 부족합니다.");
+            }
+            return reservationRepository.save(reservation);
+        }
 
-        // 재고 수량 감소
-        video.setAvailableQuantity(video.getAvailableQuantity() - quantity);
-        if (video.getAvailableQuantity() == 0) {
-            video.setReservationStatus(Video.ReservationStatus.OUT_OF_STOCK);
-        } else {
-            video.setReservationStatus(Video.ReservationStatus.RESERVED);
+        // 상품 행은 공유 잠금만 잡음 (예약 INSERT 의 외래 키 확인도 같은 공유 잠금). 같은 상품의 동시 예약은 서로 기다리지 않고,
+        // 기간 예약의 배타 잠금과만 순서가 정해져 기간 예약이 선점 중인 유닛을 못 본 채 수량을 확인하지 않음
+        // 상품이 없으면 선점할 유닛도 없으므로 결과는 확인하지 않음
+        videoRepository.lockForShare(video.getId());
+
+        // 실물 유닛 선점. 다른 예약이 잠근 유닛은 건너뛰므로 같은 상품의 동시 예약이 서로 기다리지 않음
+        // 재고 확인은 선점한 유닛 수로 끝나므로 상품 행의 카운터를 이 트랜잭션에서 차감하지 않음
+        List<Long> unitIds = itemUnitRepository.claimAvailableUnitIds(video.getId(), quantity);
+        if (unitIds.size() < quantity) {
+            throw new IllegalStateException("재고가 부족합니다.");
         }
 
-        videoRepository.save(video);
-        return reservationRepository.save(reservation);
+        // 새 예약 생성 후 선점한 유닛 연결
+        LocalDateTime now = LocalDateTime.now();
+        reservation = reservationRepository.save(reservation);
+        itemUnitRepository.assignToReservation(unitIds, reservation, ItemStatus.RESERVED, now);
+
+        // 상품 행의 유닛 수와 예약 가능 수량은 커밋 후 유닛 테이블에서 다시 계산 (ProductUnitCounterRefresher)
+        eventPublisher.publishEvent(new ProductUnitsChangedEvent(video.getId()));
+        return reservation;
     }
 
     @Override
@@ -53,18 +121,57 @@ public class ReservationServiceImpl implements ReservationService {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다."));
 
-        // 예약 취소 시 재고 수량 증가
-        Video video = reservation.getVideo();
-        video.setAvailableQuantity(video.getAvailableQuantity() + reservation.getQuantity());
+        int canceled = reservationRepository.transitionStatus(reservationId, ACTIVE_STATUSES,
+                Reservation.ReservationStatus.CANCELED, LocalDateTime.now());
+        if (canceled == 0) {
+            throw new IllegalStateException("취소할 수 없는 예약입니다.");
+        }
+
+        // 점유했던 유닛을 풀고, 상태별 유닛 수와 예약 가능 수량, 예약 상태를 유닛 테이블 기준으로 다시 계산
+        // (예약 수량이 아니라 실제로 풀린 유닛만큼 복구되고, 다른 예약이 남아 있으면 상태도 그대로 유지됨)
+        Long videoId = reservation.getVideo().getId();
+        LocalDateTime now = LocalDateTime.now();
+        if (itemUnitRepository.releaseReservation(reservationId, ItemStatus.AVAILABLE, now) > 0) {
+            videoRepository.refreshUnitDerivedState(videoId, now);
+        }
+        productCache.evict(videoId);
+    }
+
+    @Override
+    public int getAvailableQuantity(Long videoId, LocalDateTime start, LocalDateTime end) {
+        validatePeriod(start, end);
+        return getAvailableQuantities(List.of(videoId), start, end).getOrDefault(videoId, 0);
+    }
+
+    // 목록 페이지는 상품 수와 무관하게 세 번의 조회로 계산 (전체 수량, 기간이 겹치는 예약 수량 합계, 기간 없는 예약의 유닛 수)
+    @Override
+    public Map<Long, Integer> getAvailableQuantities(Collection<Long> videoIds, LocalDateTime start, LocalDateTime end) {
+        validatePeriod(start, end);
+        if (videoIds.isEmpty()) {
+            return Map.of();
+        }
 
-        // 재고 상태 업데이트
-        if (video.getAvailableQuantity() > 0) {
-            video.setReservationStatus(Video.ReservationStatus.AVAILABLE);
+        Map<Long, Long> booked = new HashMap<>();
+        for (ReservationRepository.BookedQuantityView row
+                : reservationRepository.sumOverlappingQuantities(videoIds, PERIOD_STATUSES, start, end)) {
+            booked.put(row.getVideoId(), row.getQuantity());
+        }
+        for (ItemUnitRepository.HeldUnitCountView row : itemUnitRepository.countHeldByUndatedReservationsIn(videoIds)) {
+            booked.merge(row.getVideoId(), row.getQuantity(), Long::sum);
         }
 
-        videoRepository.save(video);
-        reservation.setStatus(Reservation.ReservationStatus.CANCELED);
-        reservationRepository.save(reservation);
+        Map<Long, Integer> available = new LinkedHashMap<>();
+        for (VideoRepository.VideoQuantityView video : videoRepository.findTotalQuantities(videoIds)) {
+            int total = video.getTotalQuantity() != null ? video.getTotalQuantity() : 0;
+            available.put(video.getId(), (int) Math.max(0, total - booked.getOrDefault(video.getId(), 0L)));
+        }
+        return available;
+    }
+
+    private void validatePeriod(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("대여 기간이 올바르지 않습니다.");
+        }
     }
 
     @Override
@@ -87,6 +194,34 @@ public class ReservationServiceImpl implements ReservationService {
     public Reservation updateReservationStatus(Long reservationId, Reservation.ReservationStatus status) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다."));
+        if (status == Reservation.ReservationStatus.CANCELED) {
+            cancelReservation(reservationId);
+            reservation.setStatus(status);
+            return reservation;
+        }
+
+        Long videoId = reservation.getVideo().getId();
+        LocalDateTime now = LocalDateTime.now();
+        Reservation.ReservationStatus current = reservation.getStatus();
+        if (status == Reservation.ReservationStatus.COMPLETED && reservation.isActive()
+                && reservation.getRentalStartDate() != null) {
+            // 기간 예약은 대여 시작 시점에 실물 유닛을 연결
+            List<Long> unitIds = itemUnitRepository.claimAvailableUnitIds(videoId, reservation.getQuantity());
+            if (unitIds.size() < reservation.getQuantity()) {
+                throw new IllegalStateException("대여할 수 있는 유닛이 부족합니다.");
+            }
+            itemUnitRepository.assignToReservation(unitIds, reservation, ItemStatus.IN_USE, now);
+            videoRepository.refreshUnitDerivedState(videoId, now);
+            productCache.evict(videoId);
+        } else if (status == Reservation.ReservationStatus.RETURNED
+                && current != Reservation.ReservationStatus.RETURNED
+                && current != Reservation.ReservationStatus.CANCELED) {
+            // 반납된 예약의 유닛을 풀어 재고 복구
+            if (itemUnitRepository.releaseReservation(reservationId, ItemStatus.AVAILABLE, now) > 0) {
+                videoRepository.refreshUnitDerivedState(videoId, now);
+            }
+            productCache.evict(videoId);
+        }
 
         reservation.setStatus(status);
         return reservationRepository.save(reservation);
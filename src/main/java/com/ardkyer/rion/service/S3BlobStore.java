@@ -0,0 +1,166 @@
+package com.ardkyer.rion.service;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+@RequiredArgsConstructor
+public class S3BlobStore implements BlobStore {
+
+    private static final String USER_METADATA_HEADER_PREFIX = "x-amz-meta-";
+
+    private final AmazonS3 amazonS3Client;
+    private final S3MultipartUploader s3MultipartUploader;
+
+    @Value("${spring.cloud.aws.s3.bucket}")
+    private String bucketName;
+
+    @Override
+    public void put(String key, InputStream in, long contentLength, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(contentLength);
+        amazonS3Client.putObject(bucketName, key, in, metadata);
+    }
+
+    @Override
+    public long putStream(String key, InputStream in, String contentType,
+                          Map<String, String> userMetadata, long maxBytes) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        userMetadata.forEach(metadata::addUserMetadata);
+        return s3MultipartUploader.upload(key, metadata, in, maxBytes);
+    }
+
+    @Override
+    public BlobInfo copyTo(String key, Path target) throws IOException {
+        try (S3Object s3Object = amazonS3Client.getObject(bucketName, key);
+             InputStream in = s3Object.getObjectContent()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            return toBlobInfo(key, s3Object.getObjectMetadata());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw new BlobNotFoundException(key);
+            }
+            throw e;
+        }
+    }
+
+    // 서버 측 복사 (CopyObject 는 사용자 메타데이터도 그대로 복사)
+    @Override
+    public void copy(String sourceKey, String targetKey) {
+        try {
+            amazonS3Client.copyObject(bucketName, sourceKey, bucketName, targetKey);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw new BlobNotFoundException(sourceKey);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) {
+        try {
+            return Optional.of(toBlobInfo(key, amazonS3Client.getObjectMetadata(bucketName, key)));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, String> deleteAll(Collection<String> keys) {
+        Map<String, String> failures = new HashMap<>();
+        if (keys.isEmpty()) {
+            return failures;
+        }
+        try {
+            amazonS3Client.deleteObjects(new DeleteObjectsRequest(bucketName)
+                    .withKeys(keys.toArray(new String[0]))
+                    .withQuiet(true));
+        } catch (MultiObjectDeleteException e) {
+            e.getErrors().forEach(error -> failures.put(error.getKey(), error.getCode() + ": " + error.getMessage()));
+        } catch (Exception e) {
+            keys.forEach(key -> failures.put(key, e.getMessage()));
+        }
+        return failures;
+    }
+
+    @Override
+    public void forEachPage(Consumer<List<BlobInfo>> consumer) {
+        ListObjectsV2Request request = new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withMaxKeys(1000);
+        ListObjectsV2Result result;
+        do {
+            result = amazonS3Client.listObjectsV2(request);
+            consumer.accept(result.getObjectSummaries().stream()
+                    .map(summary -> new BlobInfo(summary.getKey(), summary.getSize(), null, summary.getETag(),
+                            summary.getLastModified().toInstant(), Map.of()))
+                    .toList());
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return amazonS3Client.getUrl(bucketName, key).toString();
+    }
+
+    @Override
+    public boolean supportsPresignedUrls() {
+        return true;
+    }
+
+    // 메타데이터 헤더를 서명에 포함하므로 클라이언트는 같은 헤더를 보내야 업로드 가능
+    @Override
+    public URL presignPut(String key, String contentType, Map<String, String> userMetadata, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt))
+                .withContentType(contentType);
+        userMetadata.forEach((name, value) -> request.putCustomRequestHeader(USER_METADATA_HEADER_PREFIX + name, value));
+        return amazonS3Client.generatePresignedUrl(request);
+    }
+
+    @Override
+    public URL presignGet(String key, Instant expiresAt) {
+        return amazonS3Client.generatePresignedUrl(bucketName, key, Date.from(expiresAt), HttpMethod.GET);
+    }
+
+    private BlobInfo toBlobInfo(String key, ObjectMetadata metadata) {
+        return new BlobInfo(key, metadata.getContentLength(), metadata.getContentType(), metadata.getETag(),
+                metadata.getLastModified() != null ? metadata.getLastModified().toInstant() : null,
+                metadata.getUserMetadata());
+    }
+}
@@ -0,0 +1,221 @@
+package com.ardkyer.rion.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 입력 스트림을 파트 단위로 읽어 S3 멀티파트 업로드로 병렬 전송
+// 파트 버퍼는 모든 업로드가 공유하는 풀에서 빌리므로 전체 메모리 사용량은 파트 크기 x maxBufferedParts 로 제한됨
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+@Slf4j
+public class S3MultipartUploader {
+
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;  // S3 최소 파트 크기 (마지막 파트 제외)
+
+    private final AmazonS3 amazonS3Client;
+    private final Executor partExecutor;
+    private final int partSize;
+    private final int maxInFlightParts;
+    private final long bufferWaitMs;
+
+    // 전체 업로드가 동시에 잡을 수 있는 파트 버퍼 수와 반납된 버퍼 풀
+    private final Semaphore bufferPermits;
+    private final Queue<byte[]> bufferPool = new ConcurrentLinkedQueue<>();
+
+    @Value("${spring.cloud.aws.s3.bucket}")
+    private String bucketName;
+
+    public S3MultipartUploader(AmazonS3 amazonS3Client,
+                               @Qualifier("s3PartExecutor") Executor partExecutor,
+                               @Value("${image.upload.part-size-bytes:8388608}") int partSize,
+                               @Value("${image.upload.max-in-flight-parts:4}") int maxInFlightParts,
+                               @Value("${image.upload.max-buffered-parts:8}") int maxBufferedParts,
+                               @Value("${image.upload.buffer-wait-ms:30000}") long bufferWaitMs) {
+        this.amazonS3Client = amazonS3Client;
+        this.partExecutor = partExecutor;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize);
+        this.maxInFlightParts = Math.max(1, maxInFlightParts);
+        this.bufferPermits = new Semaphore(Math.max(1, maxBufferedParts));
+        this.bufferWaitMs = bufferWaitMs;
+    }
+
+    /**
+     * 스트림 끝까지 업로드하고 전송한 바이트 수를 반환.
+     * maxBytes 를 넘으면 업로드를 중단하고 IllegalArgumentException 을 던짐.
+     */
+    public long upload(String key, ObjectMetadata metadata, InputStream in, long maxBytes) throws IOException {
+        byte[] first = acquireBuffer();
+        int firstLength;
+        try {
+            firstLength = readFully(in, first);
+
+            // 한 파트에 다 들어가면 멀티파트 없이 단일 요청으로 전송
+            if (firstLength < partSize) {
+                checkLimit(firstLength, maxBytes);
+                metadata.setContentLength(firstLength);
+                amazonS3Client.putObject(bucketName, key, new ByteArrayInputStream(first, 0, firstLength), metadata);
+                releaseBuffer(first);
+                return firstLength;
+            }
+        } catch (IOException | RuntimeException e) {
+            releaseBuffer(first);
+            throw e;
+        }
+
+        String uploadId;
+        try {
+            uploadId = amazonS3Client
+                    .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata))
+                    .getUploadId();
+        } catch (RuntimeException e) {
+            releaseBuffer(first);
+            throw e;
+        }
+        // 업로드 하나가 공유 풀을 독차지하지 않도록 업로드당 동시 전송 파트 수도 제한
+        Semaphore permits = new Semaphore(maxInFlightParts);
+        List<CompletableFuture<PartETag>> parts = new ArrayList<>();
+        byte[] buffer = first;  // 아직 파트 전송에 넘기지 않은 버퍼 (오류 시 풀에 반납)
+
+        try {
+            permits.acquire();
+            int length = firstLength;
+            long total = 0;
+            int partNumber = 1;
+
+            while (length > 0) {
+                total += length;
+                checkLimit(total, maxBytes);
+                parts.add(uploadPartAsync(key, uploadId, partNumber++, buffer, length, permits));
+                buffer = null;
+
+                // 앞선 파트가 실패했으면 나머지를 읽지 않고 중단
+                if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    break;
+                }
+
+                permits.acquire();
+                buffer = acquireBuffer();
+                length = readFully(in, buffer);
+                if (length == 0) {
+                    releaseBuffer(buffer);
+                    buffer = null;
+                    permits.release();
+                }
+            }
+
+            List<PartETag> etags = parts.stream()
+                    .map(CompletableFuture::join)
+                    .sorted(Comparator.comparingInt(PartETag::getPartNumber))
+                    .collect(Collectors.toList());
+            amazonS3Client.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, etags));
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId, parts);
+            throw new InterruptedIOException("Multipart upload interrupted");
+        } catch (CompletionException e) {
+            abort(key, uploadId, parts);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId, parts);
+            throw e;
+        } finally {
+            if (buffer != null) {
+                releaseBuffer(buffer);
+            }
+        }
+    }
+
+    private CompletableFuture<PartETag> uploadPartAsync(String key, String uploadId, int partNumber,
+                                                        byte[] buffer, int length, Semaphore permits) {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                .withPartSize(length);
+        return CompletableFuture
+                .supplyAsync(() -> amazonS3Client.uploadPart(request).getPartETag(), partExecutor)
+                .whenComplete((etag, error) -> {
+                    // 전송이 끝난 버퍼는 공유 풀로 돌려 다른 업로드에서도 재사용
+                    releaseBuffer(buffer);
+                    permits.release();
+                });
+    }
+
+    // 공유 풀에서 파트 버퍼를 빌림. 전체 상한에 도달하면 다른 업로드가 버퍼를 반납할 때까지 기다림
+    private byte[] acquireBuffer() throws IOException {
+        try {
+            if (!bufferPermits.tryAcquire(bufferWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for an upload buffer");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an upload buffer");
+        }
+        byte[] buffer = bufferPool.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        bufferPool.offer(buffer);
+        bufferPermits.release();
+    }
+
+    private void abort(String key, String uploadId, List<CompletableFuture<PartETag>> parts) {
+        // 진행 중인 파트가 끝난 뒤 중단해야 S3 에 조각이 남지 않음
+        parts.forEach(part -> part.handle((etag, error) -> null).join());
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private void checkLimit(long total, long maxBytes) {
+        if (total > maxBytes) {
+            throw new IllegalArgumentException("Uploaded image is too large");
+        }
+    }
+
+    // 버퍼가 가득 차거나 스트림이 끝날 때까지 읽음
+    private int readFully(InputStream in, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+}
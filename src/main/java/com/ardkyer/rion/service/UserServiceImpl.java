@@ -1,7 +1,5 @@
 package com.ardkyer.rion.service;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.ardkyer.rion.dto.*;
 import com.ardkyer.rion.dto.request.LoginRequest;
 import com.ardkyer.rion.dto.request.SignupRequest;
@@ -24,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -35,30 +34,27 @@ public class UserServiceImpl implements UserService {
     private final EmailVerificationRepository emailVerificationRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
-    private final AmazonS3 amazonS3Client;
+    private final BlobStore blobStore;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    @Value("ardkyerspring2")
-    private String bucketName;
-
     @Autowired
     public UserServiceImpl(
             UserRepository userRepository,
             EmailVerificationRepository emailVerificationRepository,
             PasswordEncoder passwordEncoder,
             EmailService emailService,
-            AmazonS3 amazonS3Client,
+            BlobStore blobStore,
             JwtTokenProvider jwtTokenProvider,
             AuthenticationManager authenticationManager) {
         this.userRepository = userRepository;
         this.emailVerificationRepository = emailVerificationRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
-        this.amazonS3Client = amazonS3Client;
+        this.blobStore = blobStore;
         this.jwtTokenProvider = jwtTokenProvider;
         this.authenticationManager = authenticationManager;
     }
@@ -226,13 +222,11 @@ public class UserServiceImpl implements UserService {
 
         String fileName = "avatars/" + UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
 
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType(file.getContentType());
-        metadata.setContentLength(file.getSize());
-
-        amazonS3Client.putObject(bucketName, fileName, file.getInputStream(), metadata);
+        try (InputStream in = file.getInputStream()) {
+            blobStore.put(fileName, in, file.getSize(), file.getContentType());
+        }
 
-        String avatarUrl = amazonS3Client.getUrl(bucketName, fileName).toString();
+        String avatarUrl = blobStore.publicUrl(fileName);
         user.setAvatarUrl(avatarUrl);
         userRepository.save(user);
 
@@ -1,32 +1,45 @@
 package com.ardkyer.rion.service;
 
-import com.amazonaws.services.s3.model.S3Object;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import com.ardkyer.rion.dto.ProductSnapshot;
+import com.ardkyer.rion.dto.VideoCardDto;
+import com.ardkyer.rion.dto.response.CursorPage;
 import com.ardkyer.rion.entity.*;
+import com.ardkyer.rion.service.ImageStagingService.StagedImage;
 
-import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 @Service
 public interface VideoService {
     // 기본 CRUD 작업
-    Video uploadVideo(Video video, MultipartFile file, Set<String> hashtagNames) throws IOException;
+    Video uploadVideo(Video video, StagedImage image, Set<String> hashtagNames);
     Optional<Video> getVideoById(Long id);
+    Optional<ProductSnapshot> getProductSnapshot(Long id);
+    Optional<Video> getVideoReference(Long id);
     Video updateVideo(Video video);
     void deleteVideo(Long id);
 
-    // 파일 처리
-    S3Object getVideoFile(String fileName);
-
     // 조회 메서드
     List<Video> getAllVideos();
     List<Video> getVideosByUser(User user);
     List<Video> getRecentVideosByUser(User user, int limit);
+    // 여러 사용자의 최근 게시물을 쿼리 한 번으로 조회 (사용자 ID 별, 최신순)
+    Map<Long, List<Video>> getRecentVideosByUsers(Collection<User> users, int limit);
     List<Video> getRandomRecentVideos(int count);
 
+    // 커서 기반 카드 페이지 조회 (cursor가 null이면 첫 페이지)
+    CursorPage<VideoCardDto> getVideoPage(String cursor, int size);
+    CursorPage<VideoCardDto> getVideoPageByUser(User user, String cursor, int size);
+
+    // 목록용 카드 조회 (엔티티 대신 프로젝션)
+    List<VideoCardDto> searchVideoCards(String query);
+    List<VideoCardDto> searchVideoCardsByHashtags(Set<String> hashtags);
+    List<VideoCardDto> getRandomRecentVideoCards(int count);
+
     // 예약 관련 메서드
     List<Video> getReservedVideosByUser(User user);
     boolean isAvailableForReservation(Long videoId, int quantity);
@@ -41,8 +54,20 @@ public interface VideoService {
     List<Video> getAllVideosWithComments();
     List<Video> getAllVideosWithSortedComments();
 
-    Video updateVideoWithImage(Video video, MultipartFile file) throws IOException;
+    // 상품 정보 수정 (image 가 null 이면 이미지는 그대로)
+    Video updateProduct(Long id, String title, String description, int totalQuantity, StagedImage image);
+
+    // 클라이언트가 pre-signed URL 로 버킷에 직접 올린 이미지로 상품 등록/이미지 교체
+    Video registerUploadedVideo(Video video, String imageKey, Set<String> hashtagNames);
+    Video replaceUploadedImage(Video video, String imageKey);
+
+    // 리사이즈 이미지 생성 시 계산한 BlurHash 를 같은 이미지를 쓰는 상품에 저장
+    void updateImagePlaceholder(String imageKey, String placeholder);
+
+    // 같은 이미지를 쓰는 상품에 dHash 저장 후 해당 상품 ID 반환
+    List<Long> updatePerceptualHash(String imageKey, long hash);
     void migrateExistingVideos();
+    void changeTotalQuantity(Video video, int totalQuantity);
     void updateUnitStatus(Long unitId, ItemStatus status);
     List<ItemUnit> getVideoUnits(Long videoId);
 }
\ No newline at end of file
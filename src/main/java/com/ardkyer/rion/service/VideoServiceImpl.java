@@ -1,20 +1,21 @@
 package com.ardkyer.rion.service;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.S3Object;
+import com.ardkyer.rion.dto.ProductSnapshot;
+import com.ardkyer.rion.dto.VideoCardDto;
+import com.ardkyer.rion.dto.VideoCursor;
+import com.ardkyer.rion.dto.response.CursorPage;
 import com.ardkyer.rion.entity.*;
 import com.ardkyer.rion.repository.*;
+import com.ardkyer.rion.service.ImageStagingService.StagedImage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,55 +24,89 @@ import java.util.stream.Collectors;
 @Transactional
 public class VideoServiceImpl implements VideoService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+
     @Autowired
     private VideoRepository videoRepository;
     private final CommentRepository commentRepository;
     private final HashtagRepository hashtagRepository;
-    private final AmazonS3 amazonS3Client;
-    private ItemUnitRepository itemUnitRepository;
-
-    @Value("${spring.cloud.aws.s3.bucket}")
-    private String bucketName;
+    private final ProductCache productCache;
+    private final ImageBlobService imageBlobService;
+    private final ImageStagingService imageStagingService;
+    private final ImageUploadTaskRepository imageUploadTaskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemUnitRepository itemUnitRepository;
+    private final ItemUnitProvisioner itemUnitProvisioner;
+    private final ItemUnitService itemUnitService;
 
     @Autowired
     public VideoServiceImpl(VideoRepository videoRepository,
                             CommentRepository commentRepository,
                             HashtagRepository hashtagRepository,
-                            AmazonS3 amazonS3Client) {
+                            ProductCache productCache,
+                            ImageBlobService imageBlobService,
+                            ImageStagingService imageStagingService,
+                            ImageUploadTaskRepository imageUploadTaskRepository,
+                            ItemUnitRepository itemUnitRepository,
+                            ItemUnitProvisioner itemUnitProvisioner,
+                            ItemUnitService itemUnitService,
+                            ApplicationEventPublisher eventPublisher) {
         this.videoRepository = videoRepository;
         this.commentRepository = commentRepository;
         this.hashtagRepository = hashtagRepository;
-        this.amazonS3Client = amazonS3Client;
+        this.productCache = productCache;
+        this.imageBlobService = imageBlobService;
+        this.imageStagingService = imageStagingService;
+        this.imageUploadTaskRepository = imageUploadTaskRepository;
+        this.itemUnitRepository = itemUnitRepository;
+        this.itemUnitProvisioner = itemUnitProvisioner;
+        this.itemUnitService = itemUnitService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional
-    public Video uploadVideo(Video video, MultipartFile file, Set<String> hashtagNames) throws IOException {
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType(file.getContentType());
-        metadata.setContentLength(file.getSize());
-
-        amazonS3Client.putObject(bucketName, fileName, file.getInputStream(), metadata);
-
-        video.setImageUrl(fileName);
-        video.initializeUnits();  // 새 비디오 업로드 시 유닛 초기화
+    public Video uploadVideo(Video video, StagedImage image, Set<String> hashtagNames) {
+        // S3 업로드는 커밋 후 아웃박스 처리기가 수행 (같은 내용이 이미 저장되어 있으면 생략)
+        boolean stored = imageBlobService.acquire(image.getKey(), image.getContentType(), image.getSize());
+        video.setImageUrl(image.getKey());
+        video.setImageStatus(stored ? Video.ImageStatus.READY : Video.ImageStatus.PENDING);
+        video.setImagePlaceholder(stored ? findPlaceholder(image.getKey()) : null);
+        video.setPerceptualHash(perceptualHashOf(image, stored));
+        video.markUnitsProvisioned();
 
         Set<Hashtag> hashtags = convertNamesToHashtags(hashtagNames);
         video.setHashtags(hashtags);
 
-        return videoRepository.save(video);
+        Video saved = videoRepository.save(video);
+        itemUnitProvisioner.provision(saved.getId(), saved.getTotalUnitCount());  // 새 비디오 업로드 시 유닛 초기화
+        if (stored) {
+            imageStagingService.discard(image.getPath());
+        } else {
+            enqueueUpload(saved, image, null);
+        }
+        return saved;
+    }
+
+    private void enqueueUpload(Video video, StagedImage image, String replacedKey) {
+        ImageUploadTask task = new ImageUploadTask();
+        task.setVideoId(video.getId());
+        task.setObjectKey(image.getKey());
+        task.setReplacedKey(replacedKey);
+        task.setStagedPath(image.getPath().toString());
+        task.setInstanceId(imageStagingService.getInstanceId());
+        task.setContentType(image.getContentType());
+        imageUploadTaskRepository.save(task);
+        eventPublisher.publishEvent(new ImageUploadRequestedEvent(task.getId()));
     }
 
+    // 유닛 일괄 변경은 ItemUnitService 에 위임 (예약에 연결된 유닛 제외, 상품 상태 재계산)
     @Transactional
     public void updateAllUnitsStatus(Long videoId, ItemStatus status) {
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new RuntimeException("Video not found"));
-
-        video.getUnits().forEach(unit -> unit.setStatus(status));
-        video.updateReservationStatus();
-        videoRepository.save(video);
+        if (!videoRepository.existsById(videoId)) {
+            throw new RuntimeException("Video not found");
+        }
+        itemUnitService.transitionUnits(videoId, null, status);
     }
 
     private Set<Hashtag> convertNamesToHashtags(Set<String> hashtagNames) {
@@ -86,13 +121,22 @@ public class VideoServiceImpl implements VideoService {
     }
 
     @Override
-    public S3Object getVideoFile(String fileName) {
-        return amazonS3Client.getObject(bucketName, fileName);
+    public Optional<Video> getVideoById(Long id) {
+        return videoRepository.findById(id);
     }
 
     @Override
-    public Optional<Video> getVideoById(Long id) {
-        return videoRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<ProductSnapshot> getProductSnapshot(Long id) {
+        return productCache.get(id, key -> videoRepository.findById(key)
+                .map(ProductSnapshot::from)
+                .orElse(null));
+    }
+
+    @Override
+    public Optional<Video> getVideoReference(Long id) {
+        // 존재 여부는 캐시된 스냅샷으로 확인하고 SELECT 없이 프록시만 반환
+        return getProductSnapshot(id).map(snapshot -> videoRepository.getReferenceById(id));
     }
 
     @Override
@@ -103,6 +147,7 @@ public class VideoServiceImpl implements VideoService {
     @Override
     @Transactional
     public Video updateVideo(Video video) {
+        productCache.evict(video.getId());
         return videoRepository.save(video);
     }
 
@@ -112,13 +157,10 @@ public class VideoServiceImpl implements VideoService {
         Optional<Video> videoOptional = videoRepository.findById(id);
         if (videoOptional.isPresent()) {
             Video video = videoOptional.get();
-            try {
-                amazonS3Client.deleteObject(bucketName, video.getImageUrl());
-            } catch (Exception e) {
-                // S3 삭제 실패 로깅
-                log.error("Failed to delete image from S3: " + e.getMessage());
-            }
+            // 마지막 참조일 때만 같은 트랜잭션으로 삭제 대기열에 기록
+            imageBlobService.release(video.getImageUrl());
             videoRepository.deleteById(id);
+            productCache.evict(id);
         } else {
             throw new RuntimeException("Video not found with id: " + id);
         }
@@ -129,6 +171,82 @@ public class VideoServiceImpl implements VideoService {
         return videoRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<VideoCardDto> getVideoPage(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<VideoCardDto> cards;
+        if (cursor == null || cursor.isBlank()) {
+            cards = videoRepository.findCardFirstPage(limit);
+        } else {
+            VideoCursor after = VideoCursor.decode(cursor);
+            cards = videoRepository.findCardPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+        return toCursorPage(cards, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<VideoCardDto> getVideoPageByUser(User user, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<VideoCardDto> cards;
+        if (cursor == null || cursor.isBlank()) {
+            cards = videoRepository.findCardFirstPageByUser(user, limit);
+        } else {
+            VideoCursor after = VideoCursor.decode(cursor);
+            cards = videoRepository.findCardPageAfterByUser(user, after.getCreatedAt(), after.getId(), limit);
+        }
+        return toCursorPage(cards, pageSize);
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private CursorPage<VideoCardDto> toCursorPage(List<VideoCardDto> cards, int pageSize) {
+        boolean hasNext = cards.size() > pageSize;
+        List<VideoCardDto> content = hasNext ? new ArrayList<>(cards.subList(0, pageSize)) : cards;
+        fillHashtags(content);
+        String nextCursor = hasNext ? VideoCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VideoCardDto> searchVideoCards(String query) {
+        return fillHashtags(videoRepository.searchCards(query));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VideoCardDto> searchVideoCardsByHashtags(Set<String> hashtags) {
+        return fillHashtags(videoRepository.findCardsByHashtagNames(hashtags));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VideoCardDto> getRandomRecentVideoCards(int count) {
+        List<VideoCardDto> recentCards = new ArrayList<>(videoRepository.findRecentCards(PageRequest.of(0, count)));
+        Collections.shuffle(recentCards);
+        return fillHashtags(recentCards);
+    }
+
+    // 카드 목록 전체의 해시태그를 쿼리 한 번으로 채움
+    private List<VideoCardDto> fillHashtags(List<VideoCardDto> cards) {
+        if (cards.isEmpty()) {
+            return cards;
+        }
+        Map<Long, VideoCardDto> cardsById = new HashMap<>();
+        cards.forEach(card -> cardsById.put(card.getId(), card));
+
+        videoRepository.findHashtagNamesByVideoIds(cardsById.keySet())
+                .forEach(row -> cardsById.get(row.getVideoId()).getHashtags().add(row.getName()));
+        return cards;
+    }
+
     @Override
     public List<Video> getAllVideosWithComments() {
         List<Video> videos = videoRepository.findAll();
@@ -178,6 +296,7 @@ public class VideoServiceImpl implements VideoService {
         Video video = videoRepository.findById(videoId)
                 .orElseThrow(() -> new RuntimeException("Video not found"));
         video.setAvailableQuantity(video.getAvailableQuantity() - quantity);
+        productCache.evict(videoId);
         return videoRepository.save(video);
     }
 
@@ -203,61 +322,193 @@ public class VideoServiceImpl implements VideoService {
         return videoRepository.findByUserOrderByCreatedAtDesc(user, PageRequest.of(0, limit));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<Video>> getRecentVideosByUsers(Collection<User> users, int limit) {
+        if (users.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        // 프록시의 ID 는 초기화 없이 읽히므로 작성자를 다시 조회하지 않음
+        Map<Long, List<Video>> videosByUserId = new HashMap<>();
+        videoRepository.findRecentByUserIds(userIds, limit)
+                .forEach(video -> videosByUserId.computeIfAbsent(video.getUser().getId(), id -> new ArrayList<>()).add(video));
+        return videosByUserId;
+    }
+
+    // 제목, 설명, 수량, 이미지를 한 트랜잭션에서 변경. 관리 중인 엔티티에 바뀐 필드만 반영해
+    // 그 사이 예약으로 바뀐 재고 값을 오래된 객체로 덮어쓰지 않고, 중간에 실패하면 전부 롤백됨
     @Override
     @Transactional
-    public Video updateVideoWithImage(Video video, MultipartFile file) throws IOException {
-        // 기존 이미지가 있다면 삭제
-        if (video.getImageUrl() != null && !video.getImageUrl().isEmpty()) {
-            try {
-                amazonS3Client.deleteObject(bucketName, video.getImageUrl());
-            } catch (Exception e) {
-                // S3 삭제 실패 로깅
-                log.error("Failed to delete old image from S3: " + e.getMessage());
-            }
+    public Video updateProduct(Long id, String title, String description, int totalQuantity, StagedImage image) {
+        Video video = videoRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        video.setTitle(title);
+        video.setDescription(description);
+        changeTotalQuantity(video, totalQuantity);
+        if (image != null) {
+            replaceStagedImage(video, image);
         }
+        productCache.evict(id);
+        return video;
+    }
 
-        // 새 이미지 업로드
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType(file.getContentType());
-        metadata.setContentLength(file.getSize());
+    private void replaceStagedImage(Video video, StagedImage image) {
+        // 기존 이미지는 새 이미지 업로드가 끝난 뒤 처리기에서 삭제
+        String replacedKey = video.getImageUrl() != null && !video.getImageUrl().isEmpty()
+                ? video.getImageUrl()
+                : null;
 
-        try {
-            amazonS3Client.putObject(bucketName, fileName, file.getInputStream(), metadata);
-        } catch (IOException e) {
-            throw new IOException("Failed to upload image to S3: " + e.getMessage());
+        // 같은 이미지를 다시 올린 경우 이미지는 그대로 둠
+        if (image.getKey().equals(replacedKey)) {
+            imageStagingService.discard(image.getPath());
+            return;
         }
+        boolean stored = imageBlobService.acquire(image.getKey(), image.getContentType(), image.getSize());
 
         // 이미지 URL 업데이트
-        video.setImageUrl(fileName);
+        video.setImageUrl(image.getKey());
+        video.setImageStatus(stored ? Video.ImageStatus.READY : Video.ImageStatus.PENDING);
+        video.setImagePlaceholder(stored ? findPlaceholder(image.getKey()) : null);
+        video.setPerceptualHash(perceptualHashOf(image, stored));
+
+        if (stored) {
+            imageStagingService.discard(image.getPath());
+            imageBlobService.release(replacedKey);
+        } else {
+            enqueueUpload(video, image, replacedKey);
+        }
+    }
 
-        // DB 업데이트
-        return videoRepository.save(video);
+    @Override
+    @Transactional
+    public Video registerUploadedVideo(Video video, String imageKey, Set<String> hashtagNames) {
+        if (videoRepository.existsByImageUrl(imageKey)) {
+            throw new IllegalArgumentException("Image is already in use");
+        }
+        // 이미 버킷에 올라가 있으므로 아웃박스를 거치지 않고 바로 READY
+        video.setImageUrl(imageKey);
+        video.setImageStatus(Video.ImageStatus.READY);
+        video.markUnitsProvisioned();
+        video.setHashtags(convertNamesToHashtags(hashtagNames));
+        Video saved = videoRepository.save(video);
+        itemUnitProvisioner.provision(saved.getId(), saved.getTotalUnitCount());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Video replaceUploadedImage(Video video, String imageKey) {
+        if (videoRepository.existsByImageUrl(imageKey)) {
+            throw new IllegalArgumentException("Image is already in use");
+        }
+        String replacedKey = video.getImageUrl();
+
+        video.setImageUrl(imageKey);
+        video.setImageStatus(Video.ImageStatus.READY);
+        video.setImagePlaceholder(null);  // 리사이즈 이미지 생성 시 다시 계산
+        video.setPerceptualHash(null);
+        productCache.evict(video.getId());
+        Video saved = videoRepository.save(video);
+
+        // 기존 이미지 참조 해제는 같은 트랜잭션으로 기록 (롤백 시 원래 이미지 유지)
+        imageBlobService.release(replacedKey);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void updateImagePlaceholder(String imageKey, String placeholder) {
+        videoRepository.updateImagePlaceholder(imageKey, placeholder, LocalDateTime.now());
+        videoRepository.findIdsByImageUrl(imageKey).forEach(productCache::evict);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> updatePerceptualHash(String imageKey, long hash) {
+        videoRepository.updatePerceptualHash(imageKey, hash);
+        return videoRepository.findIdsByImageUrl(imageKey);
+    }
+
+    private String findPlaceholder(String imageKey) {
+        return videoRepository.findPlaceholdersByImageUrl(imageKey, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    // 임시 파일로 계산한 지문을 우선 쓰고, 디코딩하지 못했으면 같은 이미지를 쓰는 상품의 값을 복사
+    private Long perceptualHashOf(StagedImage image, boolean stored) {
+        if (image.getPerceptualHash() != null) {
+            return image.getPerceptualHash();
+        }
+        return stored ? findPerceptualHash(image.getKey()) : null;
+    }
+
+    private Long findPerceptualHash(String imageKey) {
+        return videoRepository.findPerceptualHashesByImageUrl(imageKey, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .orElse(null);
     }
 
+    // 유닛이 없는 상품만 골라 다중 행 INSERT 로 생성하고 상품 상태를 다시 계산
     @Transactional
     public void migrateExistingVideos() {
-        List<Video> videos = videoRepository.findAll();
-        for (Video video : videos) {
-            if (video.getUnits().isEmpty()) {
-                video.initializeUnits();  // 초기화 메서드 호출
-                videoRepository.save(video);
-            }
+        LocalDateTime now = LocalDateTime.now();
+        for (VideoRepository.VideoQuantityView video : videoRepository.findWithoutUnits()) {
+            itemUnitProvisioner.provision(video.getId(), video.getTotalQuantity());
+            videoRepository.refreshUnitDerivedState(video.getId(), now);
+            productCache.evict(video.getId());
         }
     }
 
+    // 전체 수량 변경 시 차이만큼만 유닛을 추가하거나 예약 가능 유닛을 회수
+    @Override
+    @Transactional
+    public void changeTotalQuantity(Video video, int totalQuantity) {
+        if (totalQuantity < 0) {
+            throw new IllegalArgumentException("Invalid quantity");
+        }
+        int delta = totalQuantity - video.getTotalUnitCount();
+        if (delta > 0) {
+            itemUnitProvisioner.provision(video.getId(), delta);
+        } else if (delta < 0 && itemUnitProvisioner.retire(video.getId(), -delta) < -delta) {
+            throw new IllegalArgumentException("Cannot reduce quantity below reserved or in-use units");
+        }
+        video.setTotalQuantity(totalQuantity);
+        if (delta == 0) {
+            return;
+        }
+
+        // 유닛 수와 상품 상태는 DB 에서 다시 계산하고 엔티티에도 같은 값을 반영 (이후 저장 시 덮어쓰지 않도록)
+        videoRepository.refreshUnitDerivedState(video.getId(), LocalDateTime.now());
+        videoRepository.findUnitState(video.getId()).ifPresent(state -> {
+            video.setAvailableUnitCount(state.getAvailableUnitCount());
+            video.setReservedUnitCount(state.getReservedUnitCount());
+            video.setInUseUnitCount(state.getInUseUnitCount());
+            video.setAvailableQuantity(state.getAvailableQuantity());
+            video.setReservationStatus(state.getReservationStatus());
+        });
+        productCache.evict(video.getId());
+    }
+
     // ItemUnit 상태 변경을 위한 새로운 메서드 추가
     @Transactional
     public void updateUnitStatus(Long unitId, ItemStatus status) {
         Optional<ItemUnit> unitOpt = itemUnitRepository.findById(unitId);
         if (unitOpt.isPresent()) {
             ItemUnit unit = unitOpt.get();
-            unit.setStatus(status);
-            itemUnitRepository.save(unit);
-
-            Video video = unit.getVideo();
-            video.updateReservationStatus();  // 이제 public 메서드로 호출 가능
-            videoRepository.save(video);
+            ItemStatus previous = unit.getStatus();
+            if (previous == status) {
+                return;
+            }
+            // 카운터는 엔티티에서 고치지 않고 유닛 테이블에서 다시 계산 (ItemUnitService.updateUnitStatus 와 동일)
+            LocalDateTime now = LocalDateTime.now();
+            if (itemUnitRepository.transitionById(unitId, previous, status, now) == 0) {
+                throw new IllegalStateException("유닛 상태가 이미 변경되었거나 예약에 연결된 유닛입니다.");
+            }
+            Long videoId = unit.getVideo().getId();
+            videoRepository.refreshUnitDerivedState(videoId, now);
+            productCache.evict(videoId);
         } else {
             throw new RuntimeException("Unit not found with id: " + unitId);
         }
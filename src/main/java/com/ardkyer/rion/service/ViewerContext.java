@@ -0,0 +1,70 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 요청 단위로 현재 사용자와 팔로우 관계를 한 번만 조회해 두는 컨텍스트
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class ViewerContext {
+
+    private final UserService userService;
+    private final FollowService followService;
+
+    private boolean viewerResolved;
+    private User viewer;
+
+    private final Set<Long> resolvedOwnerIds = new HashSet<>();
+    private final Set<Long> followedOwnerIds = new HashSet<>();
+
+    public Optional<User> getViewer() {
+        if (!viewerResolved) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                viewer = userService.getUserByUsername(authentication.getName()).orElse(null);
+            }
+            viewerResolved = true;
+        }
+        return Optional.ofNullable(viewer);
+    }
+
+    // 목록 응답 전에 작성자들의 팔로우 여부를 한 번에 조회
+    public void preloadFollowStates(Collection<Long> ownerIds) {
+        User currentViewer = getViewer().orElse(null);
+        if (currentViewer == null) {
+            return;
+        }
+
+        Set<Long> pending = ownerIds.stream()
+                .filter(id -> id != null && !resolvedOwnerIds.contains(id))
+                .collect(Collectors.toSet());
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        followedOwnerIds.addAll(followService.getFollowedUserIds(currentViewer, pending));
+        resolvedOwnerIds.addAll(pending);
+    }
+
+    public boolean isFollowing(Long ownerId) {
+        if (getViewer().isEmpty()) {
+            return false;
+        }
+        preloadFollowStates(List.of(ownerId));
+        return followedOwnerIds.contains(ownerId);
+    }
+}
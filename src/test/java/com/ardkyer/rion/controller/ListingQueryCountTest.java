@@ -0,0 +1,222 @@
+package com.ardkyer.rion.controller;
+
+import com.ardkyer.rion.dto.response.CursorPage;
+import com.ardkyer.rion.entity.Follow;
+import com.ardkyer.rion.entity.Hashtag;
+import com.ardkyer.rion.entity.User;
+import com.ardkyer.rion.entity.Video;
+import com.ardkyer.rion.security.JwtTokenProvider;
+import com.ardkyer.rion.service.BlobStore;
+import com.ardkyer.rion.service.CommentService;
+import com.ardkyer.rion.service.DuplicateImageIndex;
+import com.ardkyer.rion.service.EmailService;
+import com.ardkyer.rion.service.FollowServiceImpl;
+import com.ardkyer.rion.service.ImageBlobService;
+import com.ardkyer.rion.service.ImageDerivativeService;
+import com.ardkyer.rion.service.ImagePresignService;
+import com.ardkyer.rion.service.ImageStagingService;
+import com.ardkyer.rion.service.ItemUnitProvisioner;
+import com.ardkyer.rion.service.ItemUnitService;
+import com.ardkyer.rion.service.ProductCache;
+import com.ardkyer.rion.service.ReservationService;
+import com.ardkyer.rion.service.UserServiceImpl;
+import com.ardkyer.rion.service.VideoServiceImpl;
+import com.ardkyer.rion.service.ViewerContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.CustomScopeConfigurer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.RequestScope;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 목록 화면을 컨트롤러부터 호출해 SQL 수가 행 수와 무관한 고정 값인지 Hibernate Statistics 로 확인
+// (저장소 단위 확인은 repository.QueryCountTest)
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rion-listing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=100",
+        "spring.mail.username=noreply@example.com"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductController.class, RankingController.class, VideoServiceImpl.class, UserServiceImpl.class,
+        FollowServiceImpl.class, ViewerContext.class, ListingQueryCountTest.RequestScopeConfig.class})
+class ListingQueryCountTest {
+
+    private static final int OWNERS = 10;
+    private static final int VIDEOS_PER_OWNER = 2;
+
+    // 웹 컨텍스트가 아니므로 ViewerContext 의 요청 범위를 직접 등록
+    @TestConfiguration
+    static class RequestScopeConfig {
+        @Bean
+        static CustomScopeConfigurer requestScope() {
+            CustomScopeConfigurer configurer = new CustomScopeConfigurer();
+            configurer.addScope(WebApplicationContext.SCOPE_REQUEST, new RequestScope());
+            return configurer;
+        }
+    }
+
+    @MockBean private ReservationService reservationService;
+    @MockBean private CommentService commentService;
+    @MockBean private ImageStagingService imageStagingService;
+    @MockBean private ImagePresignService imagePresignService;
+    @MockBean private ImageDerivativeService imageDerivativeService;
+    @MockBean private DuplicateImageIndex duplicateImageIndex;
+    @MockBean private ProductCache productCache;
+    @MockBean private ImageBlobService imageBlobService;
+    @MockBean private ItemUnitProvisioner itemUnitProvisioner;
+    @MockBean private ItemUnitService itemUnitService;
+    @MockBean private PasswordEncoder passwordEncoder;
+    @MockBean private EmailService emailService;
+    @MockBean private BlobStore blobStore;
+    @MockBean private JwtTokenProvider jwtTokenProvider;
+    @MockBean private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductController productController;
+
+    @Autowired
+    private RankingController rankingController;
+
+    private Statistics statistics;
+    private Authentication viewerAuthentication;
+    private User firstOwner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        viewerAuthentication = new UsernamePasswordAuthenticationToken("viewer", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(viewerAuthentication);
+
+        // 조회자가 모든 작성자를 팔로우하므로 작성자 10명이 팔로워 수 상위 10명이 됨
+        User viewer = persistUser("viewer");
+        for (int i = 0; i < OWNERS; i++) {
+            User owner = persistUser("owner" + i);
+            if (firstOwner == null) {
+                firstOwner = owner;
+            }
+            Follow follow = new Follow();
+            follow.setFollower(viewer);
+            follow.setFollowed(owner);
+            entityManager.persist(follow);
+            for (int j = 0; j < VIDEOS_PER_OWNER; j++) {
+                persistVideo(owner, "tag" + i + "-" + j);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void productListUsesFixedNumberOfQueries() {
+        ResponseEntity<CursorPage<ProductController.ProductResponse>> response = productController.getProducts(null, 50);
+
+        assertThat(response.getBody().getContent()).hasSize(OWNERS * VIDEOS_PER_OWNER)
+                .allSatisfy(product -> {
+                    assertThat(product.getHashtags()).hasSize(1);
+                    assertThat(product.isFollowedByCurrentUser()).isTrue();
+                });
+        // 카드 1 + 해시태그 1 + 조회자 1 + 조회자 roles 1 + 팔로우 여부 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @Test
+    void userProductListUsesFixedNumberOfQueries() {
+        ResponseEntity<CursorPage<ProductController.ProductResponse>> response =
+                productController.getProductsByUser(firstOwner.getId(), null, 50);
+
+        assertThat(response.getBody().getContent()).hasSize(VIDEOS_PER_OWNER)
+                .allSatisfy(product -> assertThat(product.isFollowedByCurrentUser()).isTrue());
+        // 작성자(roles 조인) 1 + 카드 1 + 해시태그 1 + 조회자 1 + 조회자 roles 1 + 팔로우 여부 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    @Test
+    void rankingUsesFixedNumberOfQueries() {
+        ExtendedModelMap model = new ExtendedModelMap();
+
+        rankingController.showRanking(model, viewerAuthentication);
+
+        @SuppressWarnings("unchecked")
+        List<User> topUsers = (List<User>) model.get("topUsers");
+        assertThat(topUsers).hasSize(OWNERS)
+                .allSatisfy(user -> {
+                    assertThat(user.getRecentVideos()).hasSize(VIDEOS_PER_OWNER);
+                    assertThat(user.isFollowedByCurrentUser()).isTrue();
+                });
+        // 상위 사용자 1 + roles 배치 1 + 조회자 1 + 조회자 roles 1 + 팔로우 여부 1 + 최근 게시물 1
+        // (사용자마다 최근 게시물을 조회하면 OWNERS 만큼 늘어남)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void persistVideo(User owner, String tag) {
+        Hashtag hashtag = new Hashtag();
+        hashtag.setName(tag);
+        entityManager.persist(hashtag);
+
+        Video video = new Video();
+        video.setUser(owner);
+        video.setTitle("product " + tag);
+        video.setDescription("#" + tag);
+        video.setImageUrl(tag + ".jpg");
+        video.setTotalQuantity(1);
+        video.setHashtags(new HashSet<>(Set.of(hashtag)));
+        entityManager.persist(video);
+    }
+}
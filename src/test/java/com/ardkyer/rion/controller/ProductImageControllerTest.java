@@ -0,0 +1,224 @@
+package com.ardkyer.rion.controller;
+
+import com.ardkyer.rion.config.AsyncConfig;
+import com.ardkyer.rion.config.SchedulingConfig;
+import com.ardkyer.rion.config.WebConfig;
+import com.ardkyer.rion.service.BlobStore;
+import com.ardkyer.rion.service.ImageDiskCache;
+import com.ardkyer.rion.service.ImagePresignService;
+import com.ardkyer.rion.service.ImageStagingService;
+import com.ardkyer.rion.service.ProductImageService;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+// 실제 Tomcat 에서 이미지 응답이 느린 클라이언트 때문에 요청(http-nio) 스레드를 붙잡지 않는지 확인
+@SpringBootTest(classes = ProductImageControllerTest.TestConfig.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.mvc.async.request-timeout=60s")
+class ProductImageControllerTest {
+
+    private static final String KEY = "0f8fad5b-d9cb-469f-a165-70867728950e_photo.jpg";
+    // 소켓 송수신 버퍼를 합친 것보다 훨씬 커야 기록 스레드가 클라이언트를 기다리게 됨
+    private static final byte[] CONTENT = content(16 * 1024 * 1024);
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            TaskExecutionAutoConfiguration.class,
+            TaskSchedulingAutoConfiguration.class
+    })
+    @Import({ProductImageController.class, ProductImageService.class, ImageDiskCache.class,
+            AsyncConfig.class, WebConfig.class, SchedulingConfig.class})
+    static class TestConfig {
+    }
+
+    @DynamicPropertySource
+    static void cacheDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("rion-image-cache-test");
+        registry.add("image.cache.dir", directory::toString);
+    }
+
+    @MockBean
+    private BlobStore blobStore;
+
+    @MockBean
+    private ImageStagingService imageStagingService;
+
+    @MockBean
+    private ImagePresignService imagePresignService;
+
+    @Autowired
+    private ImageDiskCache imageDiskCache;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    @Qualifier("mvcAsyncExecutor")
+    private ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageDiskCache.evict(KEY);
+        when(blobStore.copyTo(eq(KEY), any())).thenAnswer(invocation -> {
+            Files.write(invocation.<Path>getArgument(1), CONTENT);
+            return new BlobStore.BlobInfo(KEY, CONTENT.length, "image/jpeg", "abc123", Instant.now(), Map.of());
+        });
+    }
+
+    @Test
+    void slowReaderOfCacheMissDoesNotHoldRequestThread() throws Exception {
+        try (Socket socket = openSlowClient()) {
+            // 본문 기록 스레드가 소켓이 비기를 기다리는 동안 Tomcat 요청 스레드는 모두 반환돼 있어야 함
+            waitUntil(() -> mvcAsyncExecutor.getActiveCount() == 1);
+            waitUntil(() -> requestThreads().getActiveCount() == 0);
+            assertThat(mvcAsyncExecutor.getActiveCount()).isEqualTo(1);
+
+            InputStream in = socket.getInputStream();
+            assertThat(readHead(in)).startsWith("HTTP/1.1 200");
+            assertThat(Arrays.equals(in.readAllBytes(), CONTENT)).isTrue();
+        }
+    }
+
+    @Test
+    void slowReaderOfCacheHitIsServedBySendfile() throws Exception {
+        productImageService.release(productImageService.getImage(KEY));
+
+        try (Socket socket = openSlowClient()) {
+            InputStream in = socket.getInputStream();
+            assertThat(readHead(in)).startsWith("HTTP/1.1 200");
+            // 전송은 Tomcat poller 가 이어가므로 요청 스레드도 본문 기록 스레드도 쓰지 않음
+            waitUntil(() -> requestThreads().getActiveCount() == 0);
+            assertThat(mvcAsyncExecutor.getActiveCount()).isZero();
+
+            assertThat(Arrays.equals(in.readAllBytes(), CONTENT)).isTrue();
+        }
+    }
+
+    @Test
+    void answersConditionalAndRangeRequests() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpResponse<byte[]> notModified = client.send(imageRequest("If-None-Match", "\"abc123\""),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.body()).isEmpty();
+
+        HttpResponse<byte[]> partial = client.send(imageRequest("Range", "bytes=10-19"),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(partial.statusCode()).isEqualTo(206);
+        assertThat(partial.headers().firstValue("Content-Range")).hasValue("bytes 10-19/" + CONTENT.length);
+        assertThat(partial.body()).isEqualTo(Arrays.copyOfRange(CONTENT, 10, 20));
+
+        HttpResponse<byte[]> unsatisfiable = client.send(imageRequest("Range", "bytes=" + CONTENT.length + "-"),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(unsatisfiable.statusCode()).isEqualTo(416);
+        assertThat(unsatisfiable.headers().firstValue("Content-Range")).hasValue("bytes */" + CONTENT.length);
+    }
+
+    private HttpRequest imageRequest(String header, String value) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/images/" + KEY))
+                .header(header, value)
+                .build();
+    }
+
+    // 요청만 보내고 응답은 읽지 않는 클라이언트 (수신 버퍼를 작게 잡아 서버 쪽 기록이 막히게 함)
+    private Socket openSlowClient() throws IOException {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/products/images/" + KEY + " HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private ThreadPoolExecutor requestThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        return (ThreadPoolExecutor) webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+    }
+
+    // 상태 줄과 헤더만 읽고 본문은 스트림에 남겨 둠
+    private String readHead(InputStream in) throws IOException {
+        StringBuilder head = new StringBuilder();
+        while (head.length() < 4 || !head.substring(head.length() - 4).equals("\r\n\r\n")) {
+            int b = in.read();
+            assertThat(b).as("response ended before headers").isNotNegative();
+            head.append((char) b);
+        }
+        return head.toString();
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static byte[] content(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31 + (i >> 8));
+        }
+        return bytes;
+    }
+}
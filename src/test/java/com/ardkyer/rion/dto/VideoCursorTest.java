@@ -0,0 +1,71 @@
+package com.ardkyer.rion.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VideoCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+        VideoCursor decoded = VideoCursor.decode(new VideoCursor(createdAt, 42L).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void roundTripsWholeSecondTimestamps() {
+        // LocalDateTime.toString 은 초/나노초가 0 이면 생략하므로 짧은 형식도 다시 읽혀야 함
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30);
+        VideoCursor decoded = VideoCursor.decode(new VideoCursor(createdAt, 7L).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void encodesUrlSafeTokenWithoutPadding() {
+        String token = new VideoCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15), Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsTokenThatIsNotBase64() {
+        assertThatThrownBy(() -> VideoCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsTokenWithoutSeparator() {
+        assertThatThrownBy(() -> VideoCursor.decode(encodeRaw("2024-03-01T12:30:15")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsMalformedTimestamp() {
+        assertThatThrownBy(() -> VideoCursor.decode(encodeRaw("yesterday|42")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsMalformedId() {
+        assertThatThrownBy(() -> VideoCursor.decode(encodeRaw("2024-03-01T12:30:15|abc")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,132 @@
+package com.ardkyer.rion.repository;
+
+import com.ardkyer.rion.entity.Exercise;
+import com.ardkyer.rion.entity.Follow;
+import com.ardkyer.rion.entity.Hashtag;
+import com.ardkyer.rion.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 목록 조회가 행 수와 무관하게 일정한 수의 SQL 로 끝나는지 Hibernate Statistics 로 확인
+// 테이블 이름 user 가 H2 예약어이므로 NON_KEYWORDS 로 허용
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=100"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryCountTest {
+
+    private static final int ROWS = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void followerListIsLoadedWithoutPerRowQueries() {
+        User followed = persistUser("followed");
+        for (int i = 0; i < ROWS; i++) {
+            Follow follow = new Follow();
+            follow.setFollower(persistUser("follower" + i));
+            follow.setFollowed(followed);
+            entityManager.persist(follow);
+        }
+        startCounting();
+
+        List<User> followers = followRepository.findFollowerUsers(followed);
+        followers.forEach(user -> user.getRoles().size());
+
+        assertThat(followers).hasSize(ROWS);
+        // 사용자 목록 1번 + 즉시 로딩되는 roles 를 IN 배치로 1번
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void lazyToOneProxiesAreLoadedInBatches() {
+        User followed = persistUser("followed");
+        for (int i = 0; i < ROWS; i++) {
+            Follow follow = new Follow();
+            follow.setFollower(persistUser("follower" + i));
+            follow.setFollowed(followed);
+            entityManager.persist(follow);
+        }
+        startCounting();
+
+        List<Follow> follows = followRepository.findByFollowed(followed);
+        follows.forEach(follow -> follow.getFollower().getUsername());
+
+        assertThat(follows).hasSize(ROWS);
+        // Follow 1번 + 팔로워 프록시 IN 배치 1번 + roles IN 배치 1번 (배치가 없으면 행마다 2번씩 늘어남)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void exercisesAreLoadedWithHashtagsInOneQuery() {
+        for (int i = 0; i < ROWS; i++) {
+            Hashtag hashtag = new Hashtag();
+            hashtag.setName("tag" + i);
+            entityManager.persist(hashtag);
+
+            Exercise exercise = new Exercise();
+            exercise.setName("exercise" + i);
+            exercise.setHashtags(new HashSet<>(Set.of(hashtag)));
+            entityManager.persist(exercise);
+        }
+        startCounting();
+
+        List<Exercise> exercises = exerciseRepository.findAllWithHashtags();
+        exercises.forEach(exercise -> exercise.getHashtags().forEach(Hashtag::getName));
+
+        assertThat(exercises).hasSize(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        entityManager.persist(user);
+        return user;
+    }
+
+    // 저장한 데이터를 DB 에 내리고 영속성 컨텍스트를 비운 뒤부터 SQL 수를 셈
+    private void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ardkyer.rion.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlurHashEncoderTest {
+
+    private static final String CHARACTERS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    @Test
+    void encodesSolidColourAsDcComponentOnly() {
+        // 크기 플래그 '0', 최대값 '0', 평균 색 4자리 (흰색 0xFFFFFF, 검은색 0)
+        assertThat(BlurHashEncoder.encode(solid(8, 8, 0xFFFFFF), 1, 1)).isEqualTo("00TSUA");
+        assertThat(BlurHashEncoder.encode(solid(8, 8, 0x000000), 1, 1)).isEqualTo("000000");
+    }
+
+    @Test
+    void lengthAndSizeFlagFollowComponentCounts() {
+        String hash = BlurHashEncoder.encode(gradient(32, 24), 4, 3);
+
+        // 크기 플래그 1 + 최대값 1 + DC 4 + AC 성분마다 2
+        assertThat(hash).hasSize(4 + 2 * 4 * 3);
+        assertThat(CHARACTERS.indexOf(hash.charAt(0))).isEqualTo((4 - 1) + (3 - 1) * 9);
+        assertThat(hash.chars()).allMatch(c -> CHARACTERS.indexOf(c) >= 0);
+    }
+
+    @Test
+    void isDeterministicAndDistinguishesImages() {
+        String first = BlurHashEncoder.encode(gradient(32, 24), 4, 3);
+
+        assertThat(BlurHashEncoder.encode(gradient(32, 24), 4, 3)).isEqualTo(first);
+        assertThat(BlurHashEncoder.encode(solid(32, 24, 0x808080), 4, 3)).isNotEqualTo(first);
+    }
+
+    @Test
+    void rejectsComponentCountsOutsideOneToNine() {
+        BufferedImage image = solid(4, 4, 0xFFFFFF);
+
+        assertThatThrownBy(() -> BlurHashEncoder.encode(image, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BlurHashEncoder.encode(image, 4, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BufferedImage solid(int width, int height, int rgb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+
+    private BufferedImage gradient(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int red = x * 255 / (width - 1);
+                int blue = y * 255 / (height - 1);
+                image.setRGB(x, y, (red << 16) | (128 << 8) | blue);
+            }
+        }
+        return image;
+    }
+}
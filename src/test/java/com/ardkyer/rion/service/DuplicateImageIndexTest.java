@@ -0,0 +1,121 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.repository.VideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateImageIndexTest {
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    private DuplicateImageIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DuplicateImageIndex(videoRepository);
+    }
+
+    @Test
+    void findsHashesWithinDistanceClosestFirst() {
+        index.add(1L, 0b0000L);
+        index.add(2L, 0b0111L);   // 거리 3
+        index.add(3L, 0b0001L);   // 거리 1
+        index.add(4L, -1L);       // 거리 64
+
+        assertThat(index.findSimilar(0L, 3)).containsExactly(1L, 3L, 2L);
+        assertThat(index.findSimilar(0L, 0)).containsExactly(1L);
+    }
+
+    @Test
+    void matchesBruteForceOnManyHashes() {
+        Random random = new Random(7);
+        long[] hashes = new long[500];
+        for (int i = 0; i < hashes.length; i++) {
+            // 가까운 이웃이 생기도록 적은 수의 비트만 흩뿌림
+            hashes[i] = random.nextLong() & 0xFFFL;
+            index.add((long) i, hashes[i]);
+        }
+
+        long query = 0x0F0L;
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < hashes.length; i++) {
+            if (PerceptualHash.distance(hashes[i], query) <= 2) {
+                expected.add((long) i);
+            }
+        }
+        assertThat(index.findSimilar(query, 2)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void reAddingMovesProductAndRemoveDropsIt() {
+        index.add(1L, 0L);
+        index.add(1L, -1L);
+
+        assertThat(index.findSimilar(0L, 8)).isEmpty();
+        assertThat(index.findSimilar(-1L, 0)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.findSimilar(-1L, 0)).isEmpty();
+    }
+
+    @Test
+    void clustersConnectTransitivelyCloseProducts() {
+        index.add(1L, 0b0000L);
+        index.add(2L, 0b0011L);   // 1 과 거리 2
+        index.add(3L, 0b1111L);   // 2 와 거리 2, 1 과 거리 4
+        index.add(4L, -1L);
+
+        assertThat(index.findClusters(2)).containsExactly(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void rebuildReplacesTreeFromRepository() {
+        index.add(9L, 0L);
+        when(videoRepository.findPerceptualHashes()).thenReturn(List.of(hashView(1L, 0L), hashView(2L, 1L)));
+
+        index.rebuild();
+
+        assertThat(index.findSimilar(0L, 1)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void rebuildKeepsChangesMadeWhileReadingRepository() {
+        index.add(5L, 0L);
+        when(videoRepository.findPerceptualHashes()).thenAnswer(invocation -> {
+            // DB 를 읽는 도중 다른 요청이 지문을 등록하거나 상품을 삭제
+            index.add(3L, 0b1L);
+            index.remove(5L);
+            return List.of(hashView(5L, 0L), hashView(7L, 0b11L));
+        });
+
+        index.rebuild();
+
+        assertThat(index.findSimilar(0L, 2)).containsExactly(3L, 7L);
+    }
+
+    private VideoRepository.VideoHashView hashView(Long id, long hash) {
+        return new VideoRepository.VideoHashView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getPerceptualHash() {
+                return hash;
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.repository.ImageUploadTaskRepository;
+import com.ardkyer.rion.service.ImageStagingService.StagedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 임시 저장 단계에서 생성 응답에 쓸 dHash 를 함께 계산하는지 확인
+class ImageStagingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ImageStagingService stagingService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stagingService = new ImageStagingService(directory.toString(), "test",
+                Mockito.mock(ImageUploadTaskRepository.class));
+        stagingService.init();
+    }
+
+    @Test
+    void stagingHashesDecodableImage() throws IOException {
+        BufferedImage image = gradient(90, 80);
+        MockMultipartFile file = new MockMultipartFile("image", "photo.png", "image/png", png(image));
+
+        StagedImage staged = stagingService.stage(file);
+
+        assertThat(staged.getPerceptualHash()).isEqualTo(PerceptualHash.dHash(image));
+        assertThat(staged.getKey()).endsWith(".png");
+        assertThat(Files.size(staged.getPath())).isEqualTo(file.getSize());
+    }
+
+    @Test
+    void undecodableImageIsStagedWithoutHash() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("image", "photo.heic", "image/heic",
+                "not an image".getBytes(StandardCharsets.US_ASCII));
+
+        StagedImage staged = stagingService.stage(file);
+
+        assertThat(staged.getPerceptualHash()).isNull();
+        assertThat(Files.exists(staged.getPath())).isTrue();
+    }
+
+    private BufferedImage gradient(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int value = (x * 255 / (width - 1) + y) % 256;
+                image.setRGB(x, y, (value << 16) | (value << 8) | value);
+            }
+        }
+        return image;
+    }
+
+    private byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.ItemStatus;
+import com.ardkyer.rion.entity.ItemUnit;
+import com.ardkyer.rion.entity.User;
+import com.ardkyer.rion.entity.Video;
+import com.ardkyer.rion.repository.ItemUnitRepository;
+import com.ardkyer.rion.repository.VideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 단일 유닛 상태 변경이 조건부 UPDATE 와 유닛 테이블 기준 재계산으로만 상품 카운터를 바꾸는지 확인
+@ExtendWith(MockitoExtension.class)
+class ItemUnitServiceTest {
+
+    private static final Long VIDEO_ID = 10L;
+    private static final Long UNIT_ID = 7L;
+
+    @Mock
+    private ItemUnitRepository itemUnitRepository;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ProductCache productCache;
+
+    @InjectMocks
+    private ItemUnitService itemUnitService;
+
+    private ItemUnit unit;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("owner");
+        Video video = new Video();
+        video.setId(VIDEO_ID);
+        video.setUser(owner);
+        unit = new ItemUnit();
+        unit.setId(UNIT_ID);
+        unit.setVideo(video);
+        unit.setStatus(ItemStatus.AVAILABLE);
+        authentication = new UsernamePasswordAuthenticationToken("owner", null);
+
+        when(itemUnitRepository.findById(UNIT_ID)).thenReturn(Optional.of(unit));
+        when(userService.findByUsername("owner")).thenReturn(owner);
+    }
+
+    @Test
+    void updatesUnitConditionallyAndRecomputesCountersFromUnitTable() {
+        when(itemUnitRepository.transitionById(eq(UNIT_ID), eq(ItemStatus.AVAILABLE), eq(ItemStatus.IN_USE), any()))
+                .thenReturn(1);
+
+        itemUnitService.updateUnitStatus(UNIT_ID, ItemStatus.IN_USE, authentication);
+
+        verify(videoRepository).refreshUnitDerivedState(eq(VIDEO_ID), any());
+        verify(videoRepository, never()).save(any(Video.class));
+        verify(itemUnitRepository, never()).save(any(ItemUnit.class));
+        verify(productCache).evict(VIDEO_ID);
+    }
+
+    @Test
+    void concurrentChangeOfSameUnitIsRejectedWithoutRecompute() {
+        when(itemUnitRepository.transitionById(eq(UNIT_ID), eq(ItemStatus.AVAILABLE), eq(ItemStatus.IN_USE), any()))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> itemUnitService.updateUnitStatus(UNIT_ID, ItemStatus.IN_USE, authentication))
+                .isInstanceOf(IllegalStateException.class);
+        verify(videoRepository, never()).refreshUnitDerivedState(anyLong(), any());
+    }
+
+    @Test
+    void unchangedStatusIsNoOp() {
+        itemUnitService.updateUnitStatus(UNIT_ID, ItemStatus.AVAILABLE, authentication);
+
+        verify(itemUnitRepository, never()).transitionById(anyLong(), any(), any(), any());
+        verify(videoRepository, never()).refreshUnitDerivedState(anyLong(), any());
+    }
+}
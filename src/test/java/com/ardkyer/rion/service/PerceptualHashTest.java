@@ -0,0 +1,88 @@
+package com.ardkyer.rion.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerceptualHashTest {
+
+    @Test
+    void brighteningLeftToRightClearsEveryBit() {
+        assertThat(PerceptualHash.dHash(horizontalGradient(90, 80, false))).isZero();
+        assertThat(PerceptualHash.dHash(horizontalGradient(90, 80, true))).isEqualTo(-1L);
+    }
+
+    @Test
+    void distanceCountsDifferingBits() {
+        assertThat(PerceptualHash.distance(0L, 0L)).isZero();
+        assertThat(PerceptualHash.distance(0L, -1L)).isEqualTo(64);
+        assertThat(PerceptualHash.distance(0b1010L, 0b0110L)).isEqualTo(2);
+    }
+
+    @Test
+    void resizedAndBrightenedCopiesStayClose() {
+        long original = PerceptualHash.dHash(blocks(1, 640, 480));
+
+        assertThat(PerceptualHash.distance(original, PerceptualHash.dHash(blocks(1, 160, 120)))).isLessThanOrEqualTo(4);
+        assertThat(PerceptualHash.distance(original, PerceptualHash.dHash(brighten(blocks(1, 640, 480), 20))))
+                .isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void differentImagesAreFarApart() {
+        long first = PerceptualHash.dHash(blocks(1, 640, 480));
+        long second = PerceptualHash.dHash(blocks(2, 640, 480));
+
+        assertThat(PerceptualHash.distance(first, second)).isGreaterThan(8);
+    }
+
+    private BufferedImage horizontalGradient(int width, int height, boolean darkening) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int value = x * 255 / (width - 1);
+                if (darkening) {
+                    value = 255 - value;
+                }
+                image.setRGB(x, y, (value << 16) | (value << 8) | value);
+            }
+        }
+        return image;
+    }
+
+    // 시드로 정해지는 8x8 회색 블록 무늬 (같은 시드면 크기와 상관없이 같은 그림)
+    private BufferedImage blocks(long seed, int width, int height) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            int blocks = 8;
+            for (int by = 0; by < blocks; by++) {
+                for (int bx = 0; bx < blocks; bx++) {
+                    int value = random.nextInt(256);
+                    graphics.setColor(new Color(value, value, value));
+                    graphics.fillRect(bx * width / blocks, by * height / blocks, width / blocks + 1, height / blocks + 1);
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private BufferedImage brighten(BufferedImage source, int delta) {
+        BufferedImage image = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < source.getHeight(); y++) {
+            for (int x = 0; x < source.getWidth(); x++) {
+                int value = Math.min(255, (source.getRGB(x, y) & 0xff) + delta);
+                image.setRGB(x, y, (value << 16) | (value << 8) | value);
+            }
+        }
+        return image;
+    }
+}
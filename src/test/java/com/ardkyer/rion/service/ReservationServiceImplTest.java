@@ -0,0 +1,285 @@
+package com.ardkyer.rion.service;
+
+import com.ardkyer.rion.entity.ItemStatus;
+import com.ardkyer.rion.entity.Reservation;
+import com.ardkyer.rion.entity.User;
+import com.ardkyer.rion.entity.Video;
+import com.ardkyer.rion.repository.ItemUnitRepository;
+import com.ardkyer.rion.repository.ReservationRepository;
+import com.ardkyer.rion.repository.VideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 재고 확인과 차감, 유닛 선점, 기간 예약 잠금, 취소 시 재계산이 정해진 순서와 조건으로 실행되는지 확인
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceImplTest {
+
+    private static final Long VIDEO_ID = 10L;
+    private static final Long RESERVATION_ID = 100L;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private ItemUnitRepository itemUnitRepository;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReservationServiceImpl reservationService;
+
+    private Video video;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        video = new Video();
+        video.setId(VIDEO_ID);
+        user = new User();
+        user.setId(1L);
+    }
+
+    @Test
+    void undatedReserveSharesProductLockAndRefreshesCountersAfterCommit() {
+        when(itemUnitRepository.claimAvailableUnitIds(VIDEO_ID, 2)).thenReturn(List.of(1L, 2L));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation saved = invocation.getArgument(0);
+            saved.setId(RESERVATION_ID);
+            return saved;
+        });
+
+        Reservation reservation = reservationService.reserve(video, user, 2);
+
+        assertThat(reservation.getId()).isEqualTo(RESERVATION_ID);
+        assertThat(reservation.getStatus()).isEqualTo(Reservation.ReservationStatus.PENDING);
+        // 상품 행 공유 잠금 → 유닛 선점 → 예약 INSERT → 유닛 연결, 카운터는 커밋 후 이벤트로 다시 계산
+        InOrder order = inOrder(itemUnitRepository, videoRepository, reservationRepository, eventPublisher);
+        order.verify(videoRepository).lockForShare(VIDEO_ID);
+        order.verify(itemUnitRepository).claimAvailableUnitIds(VIDEO_ID, 2);
+        order.verify(reservationRepository).save(reservation);
+        order.verify(itemUnitRepository).assignToReservation(eq(List.of(1L, 2L)), eq(reservation),
+                eq(ItemStatus.RESERVED), any());
+        order.verify(eventPublisher).publishEvent(any(ProductUnitsChangedEvent.class));
+        // 예약 트랜잭션 안에서는 상품 행을 갱신(배타 잠금)하지 않음
+        verify(videoRepository, never()).refreshUnitDerivedState(anyLong(), any());
+    }
+
+    @Test
+    void undatedReserveFailsWhenNotEnoughUnitsCanBeClaimed() {
+        when(itemUnitRepository.claimAvailableUnitIds(VIDEO_ID, 3)).thenReturn(List.of(1L, 2L));
+
+        assertThatThrownBy(() -> reservationService.reserve(video, user, 3))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("재고가 부족합니다.");
+        verify(reservationRepository, never()).save(any());
+        verify(itemUnitRepository, never()).assignToReservation(any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void reserveRejectsNonPositiveQuantity() {
+        assertThatThrownBy(() -> reservationService.reserve(video, user, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(itemUnitRepository, never()).claimAvailableUnitIds(anyLong(), anyInt());
+    }
+
+    @Test
+    void datedReserveLocksProductBeforeCheckingOverlapAndLeavesStockAlone() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(videoRepository.lockTotalQuantity(VIDEO_ID)).thenReturn(Optional.of(5));
+        when(reservationRepository.sumOverlappingQuantity(eq(VIDEO_ID), any(), eq(start), eq(end))).thenReturn(3L);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Reservation reservation = reservationService.reserve(video, user, 2, start, end);
+
+        assertThat(reservation.getRentalStartDate()).isEqualTo(start);
+        assertThat(reservation.getRentalEndDate()).isEqualTo(end);
+        // 같은 상품의 기간 예약은 상품 행 잠금으로 순서가 정해지고, 대여 중(COMPLETED) 예약도 기간을 차지함
+        InOrder order = inOrder(videoRepository, reservationRepository);
+        order.verify(videoRepository).lockTotalQuantity(VIDEO_ID);
+        order.verify(reservationRepository).sumOverlappingQuantity(VIDEO_ID,
+                EnumSet.of(Reservation.ReservationStatus.PENDING, Reservation.ReservationStatus.CONFIRMED,
+                        Reservation.ReservationStatus.COMPLETED), start, end);
+        order.verify(reservationRepository).save(reservation);
+        // 유닛은 대여 시작 시 연결하므로 예약 시점에는 현재 재고를 건드리지 않음
+        verify(itemUnitRepository, never()).claimAvailableUnitIds(anyLong(), anyInt());
+        verify(videoRepository, never()).lockForShare(anyLong());
+    }
+
+    @Test
+    void datedReserveFailsWhenOverlappingBookingsUseUpTotal() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(videoRepository.lockTotalQuantity(VIDEO_ID)).thenReturn(Optional.of(5));
+        when(reservationRepository.sumOverlappingQuantity(eq(VIDEO_ID), any(), eq(start), eq(end))).thenReturn(4L);
+
+        assertThatThrownBy(() -> reservationService.reserve(video, user, 2, start, end))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("해당 기간에 예약 가능한 수량이 부족합니다.");
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void datedReserveFailsWhenAllUnitsAreHeldByUndatedReservations() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(videoRepository.lockTotalQuantity(VIDEO_ID)).thenReturn(Optional.of(3));
+        when(reservationRepository.sumOverlappingQuantity(eq(VIDEO_ID), any(), eq(start), eq(end))).thenReturn(0L);
+        // 기간 없이 예약된 유닛 3개가 모두 잡혀 있으면 어느 기간이든 대여 시작 시 내줄 유닛이 없음
+        when(itemUnitRepository.countHeldByUndatedReservations(VIDEO_ID)).thenReturn(3L);
+
+        assertThatThrownBy(() -> reservationService.reserve(video, user, 1, start, end))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("해당 기간에 예약 가능한 수량이 부족합니다.");
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void datedReserveRejectsPastOrInvertedPeriods() {
+        LocalDateTime past = LocalDateTime.now().minusDays(1);
+        LocalDateTime future = LocalDateTime.now().plusDays(1);
+
+        assertThatThrownBy(() -> reservationService.reserve(video, user, 1, past, future))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("대여 시작일이 지났습니다.");
+        assertThatThrownBy(() -> reservationService.reserve(video, user, 1, future, future.minusHours(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("대여 기간이 올바르지 않습니다.");
+        verify(videoRepository, never()).lockTotalQuantity(anyLong());
+    }
+
+    @Test
+    void cancelReleasesUnitsAndRecomputesFromUnitTable() {
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation(
+                Reservation.ReservationStatus.PENDING, null)));
+        when(reservationRepository.transitionStatus(eq(RESERVATION_ID), any(),
+                eq(Reservation.ReservationStatus.CANCELED), any())).thenReturn(1);
+        when(itemUnitRepository.releaseReservation(eq(RESERVATION_ID), eq(ItemStatus.AVAILABLE), any())).thenReturn(2);
+
+        reservationService.cancelReservation(RESERVATION_ID);
+
+        // 예약 수량을 더하지 않고 유닛 테이블 기준으로 다시 계산
+        InOrder order = inOrder(reservationRepository, itemUnitRepository, videoRepository, productCache);
+        order.verify(reservationRepository).transitionStatus(eq(RESERVATION_ID),
+                eq(EnumSet.of(Reservation.ReservationStatus.PENDING, Reservation.ReservationStatus.CONFIRMED)),
+                eq(Reservation.ReservationStatus.CANCELED), any());
+        order.verify(itemUnitRepository).releaseReservation(eq(RESERVATION_ID), eq(ItemStatus.AVAILABLE), any());
+        order.verify(videoRepository).refreshUnitDerivedState(eq(VIDEO_ID), any());
+        order.verify(productCache).evict(VIDEO_ID);
+    }
+
+    @Test
+    void cancelOfDatedReservationWithoutUnitsSkipsRecompute() {
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation(
+                Reservation.ReservationStatus.CONFIRMED, LocalDateTime.now().plusDays(1))));
+        when(reservationRepository.transitionStatus(eq(RESERVATION_ID), any(),
+                eq(Reservation.ReservationStatus.CANCELED), any())).thenReturn(1);
+        when(itemUnitRepository.releaseReservation(eq(RESERVATION_ID), eq(ItemStatus.AVAILABLE), any())).thenReturn(0);
+
+        reservationService.cancelReservation(RESERVATION_ID);
+
+        verify(videoRepository, never()).refreshUnitDerivedState(anyLong(), any());
+        verify(productCache).evict(VIDEO_ID);
+    }
+
+    @Test
+    void secondCancelIsRejectedWithoutTouchingUnits() {
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation(
+                Reservation.ReservationStatus.CANCELED, null)));
+        when(reservationRepository.transitionStatus(eq(RESERVATION_ID), any(),
+                eq(Reservation.ReservationStatus.CANCELED), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> reservationService.cancelReservation(RESERVATION_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("취소할 수 없는 예약입니다.");
+        verify(itemUnitRepository, never()).releaseReservation(anyLong(), any(), any());
+        verify(videoRepository, never()).refreshUnitDerivedState(anyLong(), any());
+    }
+
+    @Test
+    void pickupOfDatedReservationBindsUnitsInUse() {
+        Reservation reservation = reservation(Reservation.ReservationStatus.CONFIRMED, LocalDateTime.now());
+        reservation.setQuantity(2);
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+        when(itemUnitRepository.claimAvailableUnitIds(VIDEO_ID, 2)).thenReturn(List.of(3L, 4L));
+        when(reservationRepository.save(reservation)).thenReturn(reservation);
+
+        reservationService.updateReservationStatus(RESERVATION_ID, Reservation.ReservationStatus.COMPLETED);
+
+        verify(itemUnitRepository).assignToReservation(eq(List.of(3L, 4L)), eq(reservation),
+                eq(ItemStatus.IN_USE), any());
+        verify(videoRepository).refreshUnitDerivedState(eq(VIDEO_ID), any());
+        assertThat(reservation.getStatus()).isEqualTo(Reservation.ReservationStatus.COMPLETED);
+    }
+
+    @Test
+    void pickupFailsWhenUnitsAreNotAvailable() {
+        Reservation reservation = reservation(Reservation.ReservationStatus.CONFIRMED, LocalDateTime.now());
+        reservation.setQuantity(2);
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+        when(itemUnitRepository.claimAvailableUnitIds(VIDEO_ID, 2)).thenReturn(List.of(3L));
+
+        assertThatThrownBy(() -> reservationService.updateReservationStatus(RESERVATION_ID,
+                Reservation.ReservationStatus.COMPLETED))
+                .isInstanceOf(IllegalStateException.class);
+        verify(itemUnitRepository, never()).assignToReservation(any(), any(), any(), any());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void returnReleasesUnitsOnce() {
+        Reservation reservation = reservation(Reservation.ReservationStatus.COMPLETED, null);
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+        when(itemUnitRepository.releaseReservation(eq(RESERVATION_ID), eq(ItemStatus.AVAILABLE), any())).thenReturn(1);
+        when(reservationRepository.save(reservation)).thenReturn(reservation);
+
+        reservationService.updateReservationStatus(RESERVATION_ID, Reservation.ReservationStatus.RETURNED);
+        reservationService.updateReservationStatus(RESERVATION_ID, Reservation.ReservationStatus.RETURNED);
+
+        // 이미 반납된 예약을 다시 반납해도 유닛을 한 번만 풂
+        verify(itemUnitRepository).releaseReservation(eq(RESERVATION_ID), eq(ItemStatus.AVAILABLE), any());
+        verify(videoRepository).refreshUnitDerivedState(eq(VIDEO_ID), any());
+    }
+
+    private Reservation reservation(Reservation.ReservationStatus status, LocalDateTime rentalStartDate) {
+        Reservation reservation = new Reservation();
+        reservation.setId(RESERVATION_ID);
+        reservation.setVideo(video);
+        reservation.setUser(user);
+        reservation.setQuantity(1);
+        reservation.setStatus(status);
+        reservation.setRentalStartDate(rentalStartDate);
+        reservation.setRentalEndDate(rentalStartDate != null ? rentalStartDate.plusDays(1) : null);
+        return reservation;
+    }
+}